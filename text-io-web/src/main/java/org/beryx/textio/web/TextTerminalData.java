@@ -16,6 +16,8 @@
 package org.beryx.textio.web;
 
 import org.apache.commons.lang3.StringEscapeUtils;
+import org.beryx.textio.Form;
+import org.beryx.textio.InputRules;
 import org.beryx.textio.KeyCombination;
 
 import java.util.ArrayList;
@@ -26,13 +28,16 @@ import java.util.stream.Collectors;
 /**
  * The data sent by the server to a polling web component.
  * Includes:<ul>
- *     <li>an action to be executed by the web component (NONE, VIRTUAL, FLUSH, READ, READ_MASKED, CONTINUE_READ, CLEAR_OLD_INPUT, DISPOSE or ABORT).</li>
+ *     <li>an action to be executed by the web component after processing the message groups (NONE, VIRTUAL, READ, READ_MASKED, READ_FORM, CONTINUE_READ, DISPOSE or ABORT).</li>
  *     <li>a boolean value indicating whether the terminal should reset its settings before performing the specified action.</li>
- *     <li>a list of {@link MessageGroup}s, each one consisting of a list of settings (represented as {@link KeyValue}s) and a list of prompt messages.</li>
+ *     <li>a list of {@link MessageGroup}s, each one consisting of a list of {@link Command}s, a list of settings (represented as {@link KeyValue}s) and a list of prompt messages.</li>
+ *     <li>the text to be displayed in the status element of the web component, if it has changed.</li>
+ *     <li>the {@link InputRules} used by the web component to validate the input of a READ or READ_MASKED action.</li>
+ *     <li>the fields to be displayed by a READ_FORM action.</li>
  * </ul>
  */
 public class TextTerminalData {
-    public enum Action {NONE, VIRTUAL, FLUSH, READ, READ_MASKED, CONTINUE_READ, CLEAR_OLD_INPUT, DISPOSE, ABORT}
+    public enum Action {NONE, VIRTUAL, FLUSH, READ, READ_MASKED, READ_FORM, CONTINUE_READ, CLEAR_OLD_INPUT, DISPOSE, ABORT}
 
     /** A key-value pair */
     public static class KeyValue {
@@ -53,10 +58,41 @@ public class TextTerminalData {
         }
     }
 
+    /**
+     * A command that rewrites already displayed text or that corresponds to one of the actions FLUSH and CLEAR_OLD_INPUT.
+     * Commands are executed in order, before the settings and messages of the {@link MessageGroup} containing them.
+     */
+    public static class Command {
+        public enum Type {RESET_LINE, MOVE_TO_LINE_START, SET_BOOKMARK, RESET_TO_BOOKMARK, FLUSH, CLEAR_OLD_INPUT}
+
+        /** The type of this command */
+        public final Type type;
+
+        /** The argument of this command (such as the bookmark name). May be null. */
+        public final String data;
+
+        public Command(Type type, String data) {
+            this.type = type;
+            this.data = data;
+        }
+
+        public boolean isLineRewrite() {
+            return type == Type.RESET_LINE || type == Type.MOVE_TO_LINE_START;
+        }
+
+        @Override
+        public String toString() {
+            return (data == null) ? type.toString() : (type + "(" + data + ")");
+        }
+    }
+
     /**
      * A group of messages sharing the same settings
      */
     public static class MessageGroup {
+        /** The commands to be executed before applying the settings and displaying the messages of this group */
+        public final List<Command> commands = new ArrayList<>();
+
         /** The settings of the messages in this group, as a list of {@link KeyValue} pairs */
         public final List<KeyValue> settings = new ArrayList<>() ;
 
@@ -65,7 +101,7 @@ public class TextTerminalData {
 
         @Override
         public String toString() {
-            return "settings: " + settings + ", messages: " + messages;
+            return "commands: " + commands + ", settings: " + settings + ", messages: " + messages;
         }
     }
 
@@ -99,17 +135,26 @@ public class TextTerminalData {
     private Action action = Action.NONE;
     private String actionData = null;
     private boolean resetRequired = true;
-    private boolean lineResetRequired = false;
-    private boolean moveToLineStartRequired = false;
-    private String bookmark = null;
-    private String resetToBookmark = null;
     private final List<Key> handlerKeys = new ArrayList<>();
+    private String status = null;
+    private InputRules inputRules = null;
+    private List<Form.FieldInput> formFields = null;
+
+    /**
+     * The index of the message group starting with the most recent line rewrite command,
+     * or -1 if the text added since then cannot be discarded by a subsequent line rewrite.
+     */
+    private transient int lineRewriteGroupIndex = -1;
+
+    /** The number of actions added as commands */
+    private transient int commandActionCount = 0;
 
     public TextTerminalData getCopy() {
         TextTerminalData data = new TextTerminalData();
 
         messageGroups.forEach(group -> {
             MessageGroup copyGroup = new MessageGroup();
+            copyGroup.commands.addAll(group.commands);
             copyGroup.settings.addAll(group.settings);
             copyGroup.messages.addAll(group.messages);
             data.messageGroups.add(copyGroup);
@@ -117,11 +162,10 @@ public class TextTerminalData {
         data.action = action;
         data.actionData = actionData;
         data.resetRequired = resetRequired;
-        data.lineResetRequired = lineResetRequired;
-        data.moveToLineStartRequired = moveToLineStartRequired;
-        data.bookmark = bookmark;
-        data.resetToBookmark = resetToBookmark;
         data.handlerKeys.addAll(handlerKeys);
+        data.status = status;
+        data.inputRules = inputRules;
+        data.formFields = formFields;
         return data;
     }
 
@@ -146,6 +190,10 @@ public class TextTerminalData {
 
     public void addSetting(KeyValue keyVal) {
         MessageGroup group = (isNewGroupRequiredForSetting()) ? newMessageGroup() : messageGroups.get(messageGroups.size() - 1);
+        addSetting(group, keyVal);
+    }
+
+    private static void addSetting(MessageGroup group, KeyValue keyVal) {
         int size = group.settings.size();
         for(int i = 0; i < size; i++) {
             if(group.settings.get(i).key.equals(keyVal.key)) {
@@ -159,6 +207,50 @@ public class TextTerminalData {
     public void addRawMessage(String message) {
         MessageGroup group = (messageGroups.isEmpty()) ? newMessageGroup() : messageGroups.get(messageGroups.size() - 1);
         group.messages.add(message);
+        if(message.contains("<br>")) lineRewriteGroupIndex = -1;
+    }
+
+    /**
+     * Appends a command after the messages added so far.
+     * <br>A line rewrite command ({@link Command.Type#RESET_LINE} or {@link Command.Type#MOVE_TO_LINE_START})
+     * following another line rewrite of the same line discards the text displayed in between, which would be overwritten anyway.
+     * This way, only the latest version of a frequently rewritten line is sent to the web component.
+     */
+    public void addCommand(Command command) {
+        if(command.isLineRewrite() && lineRewriteGroupIndex >= 0) {
+            coalesceLineRewrite(command);
+            return;
+        }
+        MessageGroup group = getGroupForCommand();
+        group.commands.add(command);
+        lineRewriteGroupIndex = command.isLineRewrite() ? (messageGroups.size() - 1) : -1;
+    }
+
+    private MessageGroup getGroupForCommand() {
+        if(!messageGroups.isEmpty()) {
+            MessageGroup lastGroup = messageGroups.get(messageGroups.size() - 1);
+            if(lastGroup.settings.isEmpty() && lastGroup.messages.isEmpty()) return lastGroup;
+        }
+        return newMessageGroup();
+    }
+
+    private void coalesceLineRewrite(Command command) {
+        List<MessageGroup> discardedGroups = messageGroups.subList(lineRewriteGroupIndex, messageGroups.size());
+        Command prevCommand = discardedGroups.get(0).commands.get(discardedGroups.get(0).commands.size() - 1);
+        MessageGroup group = new MessageGroup();
+        group.commands.addAll(discardedGroups.get(0).commands);
+        // A line reset also clears the input, therefore it supersedes moving to the line start.
+        if(command.type == Command.Type.RESET_LINE && prevCommand.type != Command.Type.RESET_LINE) {
+            group.commands.set(group.commands.size() - 1, command);
+        }
+        // The settings are kept, because they also affect the text displayed later.
+        for(MessageGroup discardedGroup : discardedGroups) {
+            for(KeyValue keyVal : discardedGroup.settings) {
+                addSetting(group, keyVal);
+            }
+        }
+        discardedGroups.clear();
+        messageGroups.add(group);
     }
 
     public String addMessage(String message) {
@@ -181,11 +273,37 @@ public class TextTerminalData {
         return escapedMessage;
     }
 
+    /**
+     * Adds an action to be executed by the web component.
+     * <br>The actions FLUSH and CLEAR_OLD_INPUT are added as {@link Command}s, that is, they are executed in order with the messages.
+     * The other actions determine the state of the web component after processing the message groups and are stored as the {@link #getAction() action} of this data.
+     */
+    public void addAction(Action action, String actionData) {
+        Command.Type commandType = getCommandType(action);
+        if(commandType != null) {
+            addCommand(new Command(commandType, actionData));
+            commandActionCount++;
+        } else {
+            setAction(action);
+            setActionData(actionData);
+        }
+    }
+
+    /**
+     * @return the type of the command corresponding to the given action, or null if the action is not added as a command.
+     */
+    public static Command.Type getCommandType(Action action) {
+        if(action == Action.FLUSH) return Command.Type.FLUSH;
+        if(action == Action.CLEAR_OLD_INPUT) return Command.Type.CLEAR_OLD_INPUT;
+        return null;
+    }
+
     public Action getAction() {
         return action;
     }
     public void setAction(Action action) {
         this.action = action;
+        if(action != Action.NONE) lineRewriteGroupIndex = -1;
     }
 
     public String getActionData() {
@@ -202,42 +320,64 @@ public class TextTerminalData {
         this.resetRequired = resetRequired;
     }
 
-    public boolean isLineResetRequired() {
-        return lineResetRequired;
-    }
-    public void setLineResetRequired(boolean lineResetRequired) {
-        this.lineResetRequired = lineResetRequired;
+    /**
+     * @return the escaped HTML text of the status element, an empty string if the status element should be hidden,
+     * or null if the status has not changed.
+     */
+    public String getStatus() {
+        return status;
     }
 
-    public boolean isMoveToLineStartRequired() {
-        return moveToLineStartRequired;
+    /**
+     * Sets the text of the status element. Only the most recent status is sent to the web component.
+     * @param statusText the text to be displayed. An empty string or null hides the status element.
+     */
+    public void setStatus(String statusText) {
+        this.status = (statusText == null) ? "" : StringEscapeUtils.escapeHtml4(statusText);
     }
 
-    public void setMoveToLineStartRequired(boolean moveToLineStartRequired) {
-        this.moveToLineStartRequired = moveToLineStartRequired;
+    /**
+     * @return the rules used by the web component to validate the input of the current read operation. May be null.
+     */
+    public InputRules getInputRules() {
+        return inputRules;
     }
 
-    public String getBookmark() {
-        return bookmark;
+    /**
+     * Sets the rules sent together with a READ or READ_MASKED action.
+     */
+    public void setInputRules(InputRules inputRules) {
+        this.inputRules = inputRules;
     }
-    public void setBookmark(String bookmark) {
-        this.bookmark = bookmark;
+
+    /**
+     * @return the fields of the form to be displayed by a READ_FORM action. May be null.
+     */
+    public List<Form.FieldInput> getFormFields() {
+        return formFields;
     }
 
-    public String getResetToBookmark() {
-        return resetToBookmark;
+    public void setFormFields(List<Form.FieldInput> formFields) {
+        this.formFields = formFields;
     }
 
-    public void setResetToBookmark(String resetToBookmark) {
-        this.resetToBookmark = resetToBookmark;
+    /**
+     * @return the total number of messages in all message groups.
+     */
+    public int getMessageCount() {
+        int count = 0;
+        for(MessageGroup group : messageGroups) {
+            count += group.messages.size();
+        }
+        return count;
     }
 
     public boolean isEmpty() {
-        return messageGroups.isEmpty() && (action == Action.NONE);
+        return messageGroups.isEmpty() && (action == Action.NONE) && (status == null);
     }
 
     public boolean hasAction() {
-        return (action != Action.NONE);
+        return (action != Action.NONE) || (commandActionCount > 0);
     }
 
     public List<Key> getHandlerKeys() {
@@ -267,21 +407,21 @@ public class TextTerminalData {
         action = Action.NONE;
         actionData = null;
         resetRequired = false;
-        lineResetRequired = false;
-        moveToLineStartRequired = false;
-        bookmark = null;
-        resetToBookmark = null;
         handlerKeys.clear();
+        status = null;
+        inputRules = null;
+        formFields = null;
+        lineRewriteGroupIndex = -1;
+        commandActionCount = 0;
     }
 
     @Override
     public String toString() {
         return "resetRequired: " + resetRequired +
-                ", lineResetRequired: " + lineResetRequired +
-                ", moveToLineStartRequired: " + moveToLineStartRequired +
-                ", bookmark: " + bookmark +
-                ", resetToBookmark: " + resetToBookmark +
                 ", handlerKeys: " + handlerKeys +
+                ", status: " + status +
+                ", inputRules: " + inputRules +
+                ", formFields: " + formFields +
                 ", action: " + action +
                 ", actionData: " + actionData +
                 ", messageGroups: " + messageGroups;
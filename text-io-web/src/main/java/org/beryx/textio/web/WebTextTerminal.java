@@ -15,16 +15,23 @@
  */
 package org.beryx.textio.web;
 
+import com.google.gson.Gson;
+import org.apache.commons.lang3.StringEscapeUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.beryx.textio.*;
+import org.beryx.textio.web.TextTerminalData.Command;
 import org.beryx.textio.web.TextTerminalData.KeyValue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
@@ -48,13 +55,21 @@ public class WebTextTerminal extends AbstractTextTerminal<WebTextTerminal> imple
 
     public static final long DEFAULT_TIMEOUT_NOT_EMPTY = 5000L;
     public static final long DEFAULT_TIMEOUT_HAS_ACTION = 250L;
+
+    /** The maximum number of table rows waiting to be retrieved by the web component, before a {@link TableWriter} has to wait. */
+    public static final int MAX_PENDING_TABLE_ROWS = 1000;
+
+    /** @deprecated The web terminal no longer waits for the data to be retrieved by the web component. */
+    @Deprecated
     public static final long DEFAULT_TIMEOUT_DATA_CLEARED = 1000L;
 
+    private static final Gson gson = new Gson();
+
     private final TextTerminalData data = new TextTerminalData();
     private final Lock dataLock = new ReentrantLock();
     private final Condition dataNotEmpty = dataLock.newCondition();
     private final Condition dataHasAction = dataLock.newCondition();
-    private final Condition dataCleared = dataLock.newCondition();
+    private final Condition dataRetrieved = dataLock.newCondition();
 
     private String input;
     private boolean userInterruptedInput;
@@ -67,7 +82,6 @@ public class WebTextTerminal extends AbstractTextTerminal<WebTextTerminal> imple
 
     private long timeoutNotEmpty = DEFAULT_TIMEOUT_NOT_EMPTY;
     private long timeoutHasAction = DEFAULT_TIMEOUT_HAS_ACTION;
-    private long timeoutDataCleared = DEFAULT_TIMEOUT_DATA_CLEARED;
 
     private int userInterruptKeyCode = 'Q';
     private boolean userInterruptKeyCtrl = true;
@@ -76,6 +90,9 @@ public class WebTextTerminal extends AbstractTextTerminal<WebTextTerminal> imple
 
     private final Map<String, Function<WebTextTerminal, ReadHandlerData>> registeredHandlers = new HashMap<>();
 
+    /** The property listeners registered by the constructor. They are not copied by {@link #createCopy()}, because each copy registers its own. */
+    private final Set<TerminalProperties.ExtendedChangeListener<WebTextTerminal>> ownListeners;
+
     public void setTimeoutNotEmpty(long timeoutNotEmpty) {
         this.timeoutNotEmpty = timeoutNotEmpty;
     }
@@ -84,8 +101,12 @@ public class WebTextTerminal extends AbstractTextTerminal<WebTextTerminal> imple
         this.timeoutHasAction = timeoutHasAction;
     }
 
+    /**
+     * @deprecated The actions and the messages are sent in order, therefore the web terminal no longer waits for the data to be retrieved by the web component.
+     * This setting is ignored.
+     */
+    @Deprecated
     public void setTimeoutDataCleared(long timeoutDataCleared) {
-        this.timeoutDataCleared = timeoutDataCleared;
     }
 
     private Consumer<WebTextTerminal> userInterruptHandler = textTerm -> {
@@ -114,6 +135,9 @@ public class WebTextTerminal extends AbstractTextTerminal<WebTextTerminal> imple
 
         props.addStringListener(PROP_PANE_BGCOLOR, null, (term, newVal) -> addSetting("paneBackgroundColor", newVal));
         props.addStringListener(PROP_PANE_STYLE_CLASS, null, (term, newVal) -> addSetting("paneStyleClass", newVal));
+
+        ownListeners = Collections.newSetFromMap(new IdentityHashMap<>());
+        ownListeners.addAll(props.getListeners());
     }
 
     public WebTextTerminal createCopy() {
@@ -122,15 +146,16 @@ public class WebTextTerminal extends AbstractTextTerminal<WebTextTerminal> imple
         copy.setOnAbort(this.onAbort);
 
         TerminalProperties<WebTextTerminal> props = copy.getProperties();
-        List<TerminalProperties.ExtendedChangeListener<WebTextTerminal>> listeners = getProperties().getListeners();
-        listeners.forEach(props::addListener);
+        getProperties().getListeners().stream()
+                .filter(listener -> !ownListeners.contains(listener))
+                .forEach(props::addListener);
 
         copy.setTimeoutNotEmpty(this.timeoutNotEmpty);
         copy.setTimeoutHasAction(this.timeoutHasAction);
         copy.setUserInterruptKey(this.userInterruptKeyCode, this.userInterruptKeyCtrl, this.userInterruptKeyShift, this.userInterruptKeyAlt);
         copy.registerUserInterruptHandler(this.userInterruptHandler, abortRead);
 
-        copy.init();
+        copy.initFrom(this);
         return copy;
     }
 
@@ -148,52 +173,168 @@ public class WebTextTerminal extends AbstractTextTerminal<WebTextTerminal> imple
 
     @Override
     public boolean resetLine() {
-        setAction(VIRTUAL);
-        waitForDataCleared();
-        data.setLineResetRequired(true);
-        setAction(VIRTUAL);
+        addCommand(Command.Type.RESET_LINE, null);
         return true;
     }
 
     @Override
     public boolean moveToLineStart() {
-        setAction(VIRTUAL);
-        waitForDataCleared();
-        data.setMoveToLineStartRequired(true);
+        addCommand(Command.Type.MOVE_TO_LINE_START, null);
         return true;
     }
 
     @Override
     public boolean setBookmark(String bookmark) {
-        setAction(VIRTUAL);
-        waitForDataCleared();
-        data.setBookmark(bookmark);
+        addCommand(Command.Type.SET_BOOKMARK, bookmark);
         return true;
     }
 
     @Override
     public boolean resetToBookmark(String bookmark) {
-        setAction(VIRTUAL);
-        waitForDataCleared();
-        data.setResetToBookmark(bookmark);
+        addCommand(Command.Type.RESET_TO_BOOKMARK, bookmark);
         return true;
     }
 
-    private void waitForDataCleared() {
+    /**
+     * Appends a command to the data to be sent to the web component.
+     * The command is executed in order with the printed messages, therefore this method does not wait for the data to be polled.
+     */
+    private void addCommand(Command.Type type, String commandData) {
+        dataLock.lock();
+        try {
+            if(data.getAction() != ABORT) {
+                data.addCommand(new Command(type, commandData));
+                logger.trace("addCommand(): signalling data: {}({})", type, commandData);
+            }
+            dataNotEmpty.signalAll();
+            if(data.hasAction()) {
+                dataHasAction.signalAll();
+            }
+        } finally {
+            dataLock.unlock();
+        }
+    }
+
+    /**
+     * Displays the given text in the status element of the web component.
+     * The status element is not part of the scrolling text and only its most recent content is sent to the web component.
+     * @param statusText the text to be displayed. An empty string or null hides the status element.
+     */
+    public void setStatus(String statusText) {
         dataLock.lock();
         try {
+            if(data.getAction() != ABORT) {
+                data.setStatus(statusText);
+            }
+            dataNotEmpty.signalAll();
+        } finally {
+            dataLock.unlock();
+        }
+    }
+
+    /**
+     * Returns a progress line displayed in the status element of the web component.
+     * When the progress line is closed, the status element is hidden and its final text is printed as a regular line.
+     */
+    @Override
+    public ProgressLine newProgressLine() {
+        return new ProgressLine(this) {
+            @Override
+            protected void render(String text) {
+                setStatus(text);
+            }
+
+            @Override
+            protected void finish(String text) {
+                setStatus(null);
+                println(text);
+            }
+        };
+    }
+
+    /**
+     * Returns a table writer that displays the rows as HTML tables with fixed column widths.
+     * The writer waits if {@value #MAX_PENDING_TABLE_ROWS} rows have not yet been retrieved by the web component,
+     * so that the memory usage does not depend on the number of rows.
+     * If the web component does not retrieve any rows within the {@link #setTimeoutNotEmpty(long) timeoutNotEmpty},
+     * the writer stops and the remaining rows are not written.
+     */
+    @Override
+    public TableWriter newTableWriter() {
+        return new HtmlTableWriter();
+    }
+
+    private class HtmlTableWriter extends TableWriter {
+        private String[] cellStarts;
+        private String[] headerCellStarts;
+        private final StringBuilder htmlBuilder = new StringBuilder();
+
+        HtmlTableWriter() {
+            super(WebTextTerminal.this);
+        }
+
+        @Override
+        protected void beginTable(int[] widths, Alignment[] alignments) {
+            cellStarts = new String[widths.length];
+            headerCellStarts = new String[widths.length];
+            for(int col = 0; col < widths.length; col++) {
+                String style = " style=\"width:" + widths[col] + "ch" + ((alignments[col] == Alignment.RIGHT) ? ";text-align:right" : "") + "\">";
+                cellStarts[col] = "<td" + style;
+                headerCellStarts[col] = "<th" + style;
+            }
+        }
+
+        @Override
+        protected void writeHeader(String[] cells) {
+            addRow("<table class=\"textterm-table textterm-table-header\"><tr>", headerCellStarts, "</th>", cells);
+        }
+
+        @Override
+        protected void writeRow(String[] cells) {
+            addRow("<table class=\"textterm-table\"><tr>", cellStarts, "</td>", cells);
+        }
+
+        @Override
+        protected void endTable() {
+            setAction(FLUSH);
+        }
+
+        private void addRow(String start, String[] cellStarts, String cellEnd, String[] cells) {
+            StringBuilder sb = htmlBuilder;
+            sb.setLength(0);
+            sb.append(start);
+            for(int col = 0; col < cells.length; col++) {
+                sb.append(cellStarts[col]).append(StringEscapeUtils.escapeHtml4(cells[col])).append(cellEnd);
+            }
+            sb.append("</tr></table>");
+            String html = sb.toString();
+
+            dataLock.lock();
             try {
-                if(data.hasAction()) {
-                    boolean ok = dataCleared.await(timeoutDataCleared, TimeUnit.MILLISECONDS);
-                    if(!ok) {
-                        logger.warn("dataCleared timeout.");
+                long remainingNanos = TimeUnit.MILLISECONDS.toNanos(timeoutNotEmpty);
+                while(data.getAction() != ABORT && data.getMessageCount() >= MAX_PENDING_TABLE_ROWS) {
+                    if(remainingNanos <= 0) {
+                        logger.warn("The table rows have not been retrieved in {} ms. The remaining rows are not written.", timeoutNotEmpty);
+                        stop();
+                        return;
+                    }
+                    try {
+                        remainingNanos = dataRetrieved.awaitNanos(remainingNanos);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        stop();
+                        return;
                     }
                 }
+                if(data.getAction() == ABORT) {
+                    stop();
+                    return;
+                }
+                data.addRawMessage(html);
+                dataNotEmpty.signalAll();
             } finally {
                 dataLock.unlock();
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
         }
     }
 
@@ -207,10 +348,48 @@ public class WebTextTerminal extends AbstractTextTerminal<WebTextTerminal> imple
 
     @Override
     public String read(boolean masking) {
+        return read(masking, null);
+    }
+
+    /**
+     * Reads a line of text. The rules are sent to the web component together with the READ action,
+     * allowing it to reject obviously invalid input without posting it.
+     */
+    @Override
+    public String read(boolean masking, InputRules rules) {
+        return readInput(masking ? READ_MASKED : READ, rules, null);
+    }
+
+    @Override
+    public boolean isInputRulesSupported() {
+        return true;
+    }
+
+    /**
+     * Displays the fields as a form in the web component, which posts the input strings of all fields as a JSON array.
+     */
+    @Override
+    public List<String> readForm(List<Form.FieldInput> fields) {
+        String result = readInput(READ_FORM, null, fields);
+        String[] values = null;
+        try {
+            values = (result == null) ? null : gson.fromJson(result, String[].class);
+        } catch (RuntimeException e) {
+            logger.warn("Cannot parse the form data", e);
+        }
+        if(values == null) {
+            logger.warn("Invalid form data received. Expected a JSON array of {} strings.", fields.size());
+            return new ArrayList<>(Collections.nCopies(fields.size(), ""));
+        }
+        return Arrays.asList(values);
+    }
+
+    private String readInput(TextTerminalData.Action readAction, InputRules rules, List<Form.FieldInput> formFields) {
+        boolean masking = (readAction != READ);
         inputLock.lock();
         try {
             if(data.getAction() != ABORT) {
-                setAction(masking ? READ_MASKED : READ);
+                setReadAction(readAction, rules, formFields);
             }
             while(true) {
                 try {
@@ -244,19 +423,14 @@ public class WebTextTerminal extends AbstractTextTerminal<WebTextTerminal> imple
                                     throw new ReadInterruptionException(readInterruptionData, input);
                                 case RETURN:
                                     setAction(FLUSH);
-                                    waitForDataCleared();
                                     println();
-                                    waitForDataCleared();
                                     Function<String, String> valueProvider = handlerData.getReturnValueProvider();
                                     result = (valueProvider == null) ? null : valueProvider.apply(input);
                                     setAction(CLEAR_OLD_INPUT);
-                                    waitForDataCleared();
                                     break;
                                 case ABORT:
                                     println();
-                                    waitForDataCleared();
                                     setAction(CLEAR_OLD_INPUT);
-                                    waitForDataCleared();
                                     throw new ReadAbortedException(handlerData.getPayload(), input);
                             }
                         }
@@ -282,6 +456,17 @@ public class WebTextTerminal extends AbstractTextTerminal<WebTextTerminal> imple
         setAction(action, null);
     }
 
+    private void setReadAction(TextTerminalData.Action action, InputRules rules, List<Form.FieldInput> formFields) {
+        dataLock.lock();
+        try {
+            data.setInputRules(rules);
+            data.setFormFields(formFields);
+            setAction(action);
+        } finally {
+            dataLock.unlock();
+        }
+    }
+
     protected void setAction(TextTerminalData.Action action, String actionData) {
         if(action == NONE || action == null) {
             logger.error("Not a proper action: {}", action);
@@ -290,11 +475,10 @@ public class WebTextTerminal extends AbstractTextTerminal<WebTextTerminal> imple
         dataLock.lock();
         try {
             TextTerminalData.Action currAction = data.getAction();
-            if(currAction != NONE && currAction != FLUSH) {
+            if(currAction != NONE && TextTerminalData.getCommandType(action) == null) {
                 logger.warn("data.getAction() is {} in setAction({})", currAction, action);
             }
-            data.setAction(action);
-            data.setActionData(actionData);
+            data.addAction(action, actionData);
             dataNotEmpty.signalAll();
             dataHasAction.signalAll();
         } finally {
@@ -321,8 +505,8 @@ public class WebTextTerminal extends AbstractTextTerminal<WebTextTerminal> imple
 
     @Override
     public void println() {
-        setAction(FLUSH);
         rawPrint("\n");
+        setAction(FLUSH);
     }
 
     @Override
@@ -369,7 +553,7 @@ public class WebTextTerminal extends AbstractTextTerminal<WebTextTerminal> imple
             }
             TextTerminalData result = data.getCopy();
             data.clear();
-            dataCleared.signalAll();
+            dataRetrieved.signalAll();
             logger.debug("returning terminalData: {}", result);
             return result;
         } finally {
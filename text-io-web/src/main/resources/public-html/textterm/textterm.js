@@ -83,6 +83,9 @@
         self.textTerminalInputPath = "/textTerminalInput";
 
         var textTermElem;
+        var statusElem;
+        var validationElem;
+        var formElem = null;
         var inputElem;
         var promptElem;
         var currentLinePromptElem;
@@ -92,6 +95,8 @@
         var oldAction = 'NONE';
 
         var oldInputInnerHtml = '';
+        var inputRules = null;
+        var moveToLineStartPending = false;
 
         var bookmarkOffsets = new Map();
         var registeredHandlerKeys = new Map();
@@ -203,12 +208,53 @@
             }
         };
 
-        var displayMessageGroups = function(messageGroups, specialPromptStyleClass, moveToLineStartRequired) {
+        var executeCommand = function(command) {
+            logTrace("command: " + command.type + (command.data ? "(" + command.data + ")" : ""));
+            switch(command.type) {
+                case 'RESET_LINE':
+                    moveToLineStartPending = false;
+                    self.resetLine();
+                    break;
+                case 'MOVE_TO_LINE_START':
+                    moveToLineStartPending = true;
+                    break;
+                case 'SET_BOOKMARK':
+                    self.setBookmark(command.data);
+                    break;
+                case 'RESET_TO_BOOKMARK':
+                    self.resetToBookmark(command.data);
+                    break;
+                case 'FLUSH':
+                    action = 'FLUSH';
+                    createNewTextTermPair("", null, true);
+                    inputElem.focus();
+                    break;
+                case 'CLEAR_OLD_INPUT':
+                    action = 'CLEAR_OLD_INPUT';
+                    oldInputInnerHtml = '';
+                    break;
+                default:
+                    logWarn("Unknown command: " + command.type);
+            }
+        };
+
+        var displayMessageGroups = function(messageGroups, specialPromptStyleClass) {
             var groupCount = messageGroups.length;
             logTrace("groupCount: " + groupCount);
             var firstMessage = true;
             var hasBr = false;
             for(var k = 0; k < groupCount; k++) {
+                var commands = messageGroups[k].commands;
+                var commandCount = commands ? commands.length : 0;
+                if(commandCount > 0 && hasBr) {
+                    // The commands refer to the line following the messages already displayed
+                    nextTextTermPairIsCurrentLine = true;
+                    createNewTextTermPair("", null, true);
+                    hasBr = false;
+                }
+                for(var c = 0; c < commandCount; c++) {
+                    executeCommand(commands[c]);
+                }
                 var settingsCount = applySettings(messageGroups[k].settings);
                 var msgCount = messageGroups[k].messages.length;
                 logTrace("msgCount: " + msgCount);
@@ -221,7 +267,8 @@
                             hasBr = true;
                         }
                     }
-                    if(firstMessage && moveToLineStartRequired) {
+                    if(moveToLineStartPending) {
+                        moveToLineStartPending = false;
                         configurePromptElem(specialPromptStyleClass);
                         var pElem = currentLinePromptElem ? currentLinePromptElem : promptElem;
                         pElem.innerHTML = "";
@@ -277,26 +324,29 @@
                     if (data.resetRequired) {
                         self.resetTextTerm();
                     }
-                    if (data.lineResetRequired) {
-                        self.resetLine();
-                    }
-                    if (data.resetToBookmark) {
-                        self.resetToBookmark(data.resetToBookmark);
-                    }
-                    if (data.bookmark) {
-                        self.setBookmark(data.bookmark);
-                    }
                     registerHandlerKeys(data.handlerKeys);
-                    displayMessageGroups(data.messageGroups, null, data.moveToLineStartRequired);
+                    displayMessageGroups(data.messageGroups, null);
+                    if (typeof data.status === 'string') {
+                        self.setStatus(data.status);
+                    }
                     logTrace("data.action: " + data.action);
                     if (data.action !== 'NONE') {
                         action = data.action;
                     }
-                    if(action === 'FLUSH') {
+                    if(data.action === 'READ' || data.action === 'READ_MASKED') {
+                        inputRules = data.inputRules || null;
+                        hideValidationErrors();
+                    }
+                    if(data.action === 'READ_FORM') {
+                        hideValidationErrors();
+                        displayForm(data.formFields || []);
+                    }
+                    // FLUSH and CLEAR_OLD_INPUT are usually received as commands, which have already been executed
+                    if(data.action === 'FLUSH') {
                         createNewTextTermPair("", null, true);
                         inputElem.focus();
                     }
-                    if(action === 'CLEAR_OLD_INPUT') {
+                    if(data.action === 'CLEAR_OLD_INPUT') {
                         oldInputInnerHtml = '';
                     }
                     if(action === 'CONTINUE_READ') {
@@ -363,12 +413,18 @@
             xhr.send(JSON.stringify(initData));
         };
 
-        var postAsInput = function(text, userInterrupt, handlerId) {
+        var openInputXhr = function() {
             var xhr = new XMLHttpRequest();
             xhr.onreadystatechange = handleXhrError(xhr);
             xhr.open("POST", self.textTerminalInputPath, true);
             xhr.setRequestHeader("Content-type", "text/plain");
             xhr.setRequestHeader("uuid", self.uuid);
+            return xhr;
+        };
+
+        var postAsInput = function(text, userInterrupt, handlerId) {
+            hideValidationErrors();
+            var xhr = openInputXhr();
 
             if(userInterrupt) {
                 logInfo("User interrupt!");
@@ -394,6 +450,246 @@
             postAsInput(inputElem.textContent, userInterrupt, handlerId);
         };
 
+        // Same as Java's String.trim(): removes the leading and trailing characters <= ' '
+        var trimInput = function(text) {
+            var start = 0;
+            var end = text.length;
+            while(start < end && text.charCodeAt(start) <= 32) start++;
+            while(end > start && text.charCodeAt(end - 1) <= 32) end--;
+            return text.substring(start, end);
+        };
+
+        var MAX_SAFE_INTEGER = 9007199254740991;
+
+        /**
+         * The server parses integers and indexes with Character.digit(), which also accepts non-ASCII decimal digits.
+         * Browsers that do not support Unicode property escapes leave the input containing non-ASCII characters to the server.
+         */
+        var INTEGER_REGEX = (function() {
+            try {
+                return new RegExp('^[+-]?\\p{Nd}+$', 'u');
+            } catch(e) {
+                return null;
+            }
+        })();
+
+        var isInteger = function(value) {
+            if(INTEGER_REGEX) return INTEGER_REGEX.test(value);
+            return /^[+-]?[0-9]+$/.test(value) || /[^\x00-\x7F]/.test(value);
+        };
+
+        var isAsciiInteger = function(value) {
+            return /^[+-]?[0-9]+$/.test(value);
+        };
+
+        var isInRange = function(value, rules) {
+            if(rules.numberType === 'integer' && Math.abs(value) > MAX_SAFE_INTEGER) return true;
+            if(typeof rules.min === 'number' && value < rules.min) return false;
+            if(typeof rules.max === 'number' && value > rules.max) return false;
+            return true;
+        };
+
+        /**
+         * Checks a single value against the rules received with the READ action.
+         * The checks are a relaxation of the server-side validation: a value rejected here is also rejected by the server.
+         * @return the name of the violated rule, or null.
+         */
+        var getViolatedRule = function(value, rules) {
+            if(rules.indexCount) {
+                if(!isInteger(value)) return 'index';
+                // The range of indexes with non-ASCII digits is checked by the server
+                if(!isAsciiInteger(value)) return null;
+                var index = parseInt(value, 10);
+                return (index >= 1 && index <= rules.indexCount) ? null : 'index';
+            }
+            if(rules.numberType) {
+                var normalized = value;
+                if(rules.groupingSeparator) {
+                    normalized = normalized.split(rules.groupingSeparator).join('');
+                    if(/\s/.test(rules.groupingSeparator)) normalized = normalized.split(' ').join('');
+                }
+                if(rules.decimalSeparator && rules.decimalSeparator !== '.') {
+                    normalized = normalized.split(rules.decimalSeparator).join('.');
+                }
+                if(rules.numberType === 'integer') {
+                    if(!isInteger(normalized)) return 'number';
+                    // The range of integers with non-ASCII digits is checked by the server
+                    if(!isAsciiInteger(normalized)) return null;
+                } else if(!/^[+-]?([0-9]+\.?[0-9]*|\.[0-9]+)([eE][+-]?[0-9]+)?$/.test(normalized)) {
+                    // Decimal values are parsed by Double.parseDouble(), which only accepts ASCII digits.
+                    // Special values, such as NaN, Infinity, hexadecimal numbers or values with surrounding whitespace, are left to the server
+                    return /[a-df-zA-DF-Z]|^\s|\s$/.test(normalized) ? null : 'number';
+                }
+                if(!isInRange(Number(normalized), rules)) return 'range';
+            }
+            if(typeof rules.minLength === 'number' && value.length < rules.minLength) return 'minLength';
+            if(typeof rules.maxLength === 'number' && value.length > rules.maxLength) return 'maxLength';
+            if(rules.pattern) {
+                var regex = null;
+                try {
+                    regex = new RegExp('^(?:' + rules.pattern + ')$', rules.patternFlags || '');
+                } catch(e) {
+                    logWarn("Cannot use pattern " + rules.pattern + ": " + e);
+                }
+                if(regex && !regex.test(value)) return 'pattern';
+            }
+            if(rules.possibleValues && rules.possibleValues.indexOf(value) < 0) return 'possibleValues';
+            return null;
+        };
+
+        /**
+         * @return the error messages for the given input text, or null if no rule is violated.
+         */
+        var validateInput = function(text, rules) {
+            if(!rules) return null;
+            var values = rules.valueList ? text.split(',') : [text];
+            if(rules.trimming) {
+                values = values.map(trimInput);
+            }
+            if(rules.valueList) {
+                // Trailing empty values are ignored, as in Java's String.split()
+                while(values.length > 0 && !values[values.length - 1]) values.pop();
+                if(values.length === 0) return null;
+            } else if(!values[0] && rules.optional) {
+                return null;
+            }
+            for(var i = 0; i < values.length; i++) {
+                var rule = getViolatedRule(values[i], rules);
+                if(rule) {
+                    logDebug("Input rejected by rule: " + rule);
+                    var messages = rules.messages && rules.messages[rule];
+                    return (messages && messages.length) ? messages : ['Invalid value.'];
+                }
+            }
+            return null;
+        };
+
+        var showValidationErrors = function(messages) {
+            if(!validationElem) {
+                validationElem = document.createElement("div");
+                validationElem.className = "textterm-validation-error";
+                textTermElem.parentNode.insertBefore(validationElem, textTermElem.nextSibling);
+            }
+            validationElem.textContent = "";
+            messages.forEach(function(message) {
+                var lineElem = document.createElement("div");
+                lineElem.textContent = message;
+                validationElem.appendChild(lineElem);
+            });
+            validationElem.style.display = "";
+        };
+
+        var hideValidationErrors = function() {
+            if(validationElem) {
+                validationElem.style.display = "none";
+            }
+        };
+
+        var setFormFieldErrors = function(errorElem, messages) {
+            errorElem.textContent = "";
+            (messages || []).forEach(function(message) {
+                var lineElem = document.createElement("div");
+                lineElem.textContent = message;
+                errorElem.appendChild(lineElem);
+            });
+            errorElem.style.display = (messages && messages.length) ? "" : "none";
+        };
+
+        /**
+         * Validates all fields of the pending form and posts their values as a JSON array.
+         */
+        var submitForm = function(formInputs) {
+            var firstInvalid = null;
+            var values = formInputs.map(function(formInput) {
+                var value = formInput.ctrl.value;
+                var messages = validateInput(value, formInput.rules);
+                setFormFieldErrors(formInput.errorElem, messages);
+                if(messages && !firstInvalid) firstInvalid = formInput.ctrl;
+                return value;
+            });
+            if(firstInvalid) {
+                firstInvalid.focus();
+                return;
+            }
+            formInputs.forEach(function(formInput) {
+                formInput.ctrl.disabled = true;
+            });
+            formElem = null;
+            openInputXhr().send(JSON.stringify(values));
+            inputElem.focus();
+        };
+
+        /**
+         * Displays the fields received with a READ_FORM action. A form previously rejected by the server is replaced.
+         * Enter moves to the next field and submits the form when pressed in the last field.
+         */
+        var displayForm = function(fields) {
+            if(formElem && formElem.parentNode) {
+                formElem.parentNode.removeChild(formElem);
+            }
+            var formPair = inputElem.parentNode;
+            createNewTextTermPair("", null, true);
+            formElem = document.createElement("div");
+            formElem.className = "textterm-form";
+            var formInputs = [];
+            fields.forEach(function(field, idx) {
+                var fieldElem = document.createElement("div");
+                fieldElem.className = "textterm-form-field";
+                var labelElem = document.createElement("label");
+                labelElem.className = "textterm-form-label";
+                labelElem.textContent = field.label;
+                var ctrl;
+                if(field.options) {
+                    ctrl = document.createElement("select");
+                    if(!field.value) {
+                        ctrl.appendChild(document.createElement("option"));
+                    }
+                    field.options.forEach(function(optionText, optionIdx) {
+                        var optionElem = document.createElement("option");
+                        optionElem.value = String(optionIdx + 1);
+                        optionElem.textContent = optionText;
+                        ctrl.appendChild(optionElem);
+                    });
+                } else {
+                    ctrl = document.createElement("input");
+                    ctrl.type = field.masking ? "password" : "text";
+                    if(field.placeholder) ctrl.placeholder = field.placeholder;
+                }
+                ctrl.value = field.value || "";
+                ctrl.className = "textterm-form-input";
+                var errorElem = document.createElement("div");
+                errorElem.className = "textterm-form-error";
+                setFormFieldErrors(errorElem, field.errorMessages);
+                ctrl.addEventListener("keydown", function(event) {
+                    var key = event.which || event.keyCode || 0;
+                    if(key !== 13) return;
+                    event.preventDefault();
+                    event.stopPropagation();
+                    if(idx < formInputs.length - 1) {
+                        formInputs[idx + 1].ctrl.focus();
+                    } else {
+                        submitForm(formInputs);
+                    }
+                });
+                labelElem.appendChild(ctrl);
+                fieldElem.appendChild(labelElem);
+                fieldElem.appendChild(errorElem);
+                formElem.appendChild(fieldElem);
+                formInputs.push({ctrl: ctrl, errorElem: errorElem, rules: field.rules});
+            });
+            formPair.appendChild(formElem);
+            var focusIdx = 0;
+            for(var i = 0; i < fields.length; i++) {
+                if(fields[i].errorMessages) {
+                    focusIdx = i;
+                    break;
+                }
+            }
+            if(formInputs.length > 0) {
+                formInputs[focusIdx].ctrl.focus();
+            }
+        };
+
         var getColor = function(colorName) {
             var color = colorName || null;
             if(color === 'default' || color === 'null' || color === 'none') {
@@ -594,6 +890,10 @@
                 promptElem.textContent = "";
                 inputElem.textContent = "";
                 inputElem.setAttribute("contenteditable", true);
+                self.setStatus("");
+                inputRules = null;
+                formElem = null;
+                hideValidationErrors();
             };
 
             self.resetLine = function() {
@@ -605,6 +905,17 @@
                 inputElem.innerHTML = "";
             };
 
+            self.setStatus = function(statusHtml) {
+                if(!statusElem) {
+                    if(!statusHtml) return;
+                    statusElem = document.createElement("div");
+                    statusElem.className = "textterm-status";
+                    textTermElem.parentNode.insertBefore(statusElem, textTermElem.nextSibling);
+                }
+                statusElem.innerHTML = statusHtml;
+                statusElem.style.display = statusHtml ? "" : "none";
+            };
+
             self.setBookmark = function(bookmark) {
                 logDebug("Setting bookmark " + bookmark);
                 var pairs = textTermElem.querySelectorAll(".textterm-pair");
@@ -673,7 +984,7 @@
                 if(isUserInterruptKey(event)) {
                     postInput(true, null);
                     event.preventDefault();
-                } else {
+                } else if(!formElem) {
                     var matchingKey = null;
                     registeredHandlerKeys.forEach(function (key, handlerId, map) {
                         if(!matchingKey && eventMatchesHandlerKey(event, key)) {
@@ -688,6 +999,7 @@
             };
 
             ttElem.onmouseup = function(event) {
+                if(formElem && formElem.contains(event.target)) return;
                 var inputHasFocus = (document.activeElement == inputElem);
                 var sel = window.getSelection();
                 var selRange = sel.getRangeAt(Math.max(sel.rangeCount, 1) - 1);
@@ -704,6 +1016,13 @@
                 } else {
                     var key = event.which || event.keyCode || 0;
                     if(key !== 13) return;
+                    if(action === 'READ_FORM') return;
+                    var validationErrors = validateInput(inputElem.textContent, inputRules);
+                    if(validationErrors) {
+                        showValidationErrors(validationErrors);
+                        event.preventDefault();
+                        return;
+                    }
                     if(action !== 'READ_MASKED') {
                         updateHistory(inputElem.textContent);
                     }
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.beryx.textio.web
+
+import spock.lang.Specification
+
+class WebTableWriterSpec extends Specification {
+    def "should stop writing table rows if the web component does not retrieve them"() {
+        given:
+        def term = new WebTextTerminal()
+        term.timeoutNotEmpty = 200
+        int pulled = 0
+        def rows = [
+                hasNext: { true },
+                next: { [++pulled] }
+        ] as Iterator
+
+        when:
+        long start = System.currentTimeMillis()
+        long count = term.newTableWriter().withSampleSize(10).write(rows)
+        long elapsed = System.currentTimeMillis() - start
+
+        then:
+        count == WebTextTerminal.MAX_PENDING_TABLE_ROWS
+        pulled == count + 1
+        elapsed < 5000
+        term.textTerminalData.messageGroups.sum { it.messages.size() } == count
+    }
+
+    def "should write all table rows if the web component keeps retrieving them"() {
+        given:
+        def term = new WebTextTerminal()
+        term.timeoutNotEmpty = 1000
+        term.timeoutHasAction = 1
+        int received = 0
+        boolean done = false
+        def client = Thread.start {
+            while(!done) {
+                received += term.textTerminalData.messageGroups.sum(0) { it.messages.size() }
+            }
+        }
+
+        when:
+        long count = term.newTableWriter().write((1..5000).collect { [it] }.iterator())
+        done = true
+        client.join()
+        received += term.textTerminalData.messageGroups.sum(0) { it.messages.size() }
+
+        then:
+        count == 5000
+        received == 5000
+    }
+}
@@ -21,20 +21,79 @@ import org.slf4j.LoggerFactory;
 import java.io.*;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 @PropertiesPrefixes({"textio"})
 public abstract class AbstractTextTerminal<T extends AbstractTextTerminal<T>> implements TextTerminal<T> {
     private static final Logger logger =  LoggerFactory.getLogger(AbstractTextTerminal.class);
 
     public static final String SYSPROP_PROPERTIES_FILE_LOCATION = "textio.properties.location";
+    public static final String SYSPROP_PROPERTIES_HOT_RELOAD = "textio.properties.hot.reload";
 
     public static final String DEFAULT_USER_INTERRUPT_KEY = "ctrl C";
 
     private final TerminalProperties<T> properties;
     private final Map<String, String> defaultProperties = new HashMap<>();
 
+    /** The properties prefixes of each terminal class */
+    private static final Map<Class<?>, List<String>> prefixesCache = new ConcurrentHashMap<>();
+
+    /** The terminal classes that override {@link #getPropertiesReader()}. Their properties are not cached. */
+    private static final Map<Class<?>, Boolean> customReaderCache = new ConcurrentHashMap<>();
+
+    /** The parsed properties files, keyed by their location */
+    private static final Map<String, ParsedProperties> parsedPropertiesCache = new ConcurrentHashMap<>();
+
+    /** The properties (including the default ones) obtained during the last initialization or reload */
+    private volatile Map<String, String> loadedProperties = Collections.emptyMap();
+
+    /** Guards the initialization of this terminal. Private, so that callers locking the terminal cannot interfere with it. */
+    private final Object initLock = new Object();
     private boolean initialized = false;
 
+    /**
+     * The location of a properties file, together with a stamp that changes when the file is modified.
+     */
+    private static final class PropertiesSource {
+        final String location;
+        final String stamp;
+        final File file;
+        final URL url;
+
+        PropertiesSource(File file) {
+            this.location = file.getAbsolutePath();
+            this.stamp = file.lastModified() + ":" + file.length();
+            this.file = file;
+            this.url = null;
+        }
+
+        PropertiesSource(URL url) {
+            this.location = url.toString();
+            this.stamp = "";
+            this.file = null;
+            this.url = url;
+        }
+
+        Reader openReader() throws IOException {
+            return (file != null) ? new FileReader(file) : new InputStreamReader(url.openStream());
+        }
+    }
+
+    /**
+     * The raw properties read from a {@link PropertiesSource}, together with the properties resolved from them
+     * for each list of properties prefixes.
+     */
+    private static final class ParsedProperties {
+        final String stamp;
+        final Properties rawProps;
+        final Map<List<String>, Map<String, String>> resolvedProps = new ConcurrentHashMap<>();
+
+        ParsedProperties(String stamp, Properties rawProps) {
+            this.stamp = stamp;
+            this.rawProps = rawProps;
+        }
+    }
+
     @SuppressWarnings({ "rawtypes", "unchecked" })
     public AbstractTextTerminal() {
         this.properties = new TerminalProperties(this);
@@ -48,13 +107,34 @@ public abstract class AbstractTextTerminal<T extends AbstractTextTerminal<T>> im
 
     @Override
     public void init() {
-        if(initialized) return;
-        initialized = true;
-        initProperties();
+        synchronized (initLock) {
+            if(initialized) return;
+            initialized = true;
+            initProperties();
+        }
+    }
+
+    /**
+     * Initializes this terminal using the properties of the given template, instead of reading and parsing the properties file again.
+     * The template is initialized first, if necessary.
+     * <br>The two terminals share the same property values until one of them modifies them (copy-on-write).
+     * The values of the template are taken over as a snapshot, without locking the template.
+     * @param template an already configured terminal of the same type.
+     */
+    public void initFrom(T template) {
+        AbstractTextTerminal<T> source = template;
+        source.init();
+        synchronized (initLock) {
+            if(initialized) return;
+            initialized = true;
+        }
+        properties.putAllFrom(source.getProperties());
+        loadedProperties = source.loadedProperties;
+        PropertiesFileWatcher.registerAlike(template, this);
     }
 
     public List<String> getPropertiesPrefixes() {
-        return getPropertiesPrefixes(getClass());
+        return prefixesCache.computeIfAbsent(getClass(), cls -> Collections.unmodifiableList(getPropertiesPrefixes(cls)));
     }
 
     private List<String> getPropertiesPrefixes(Class<?> cls) {
@@ -77,11 +157,48 @@ public abstract class AbstractTextTerminal<T extends AbstractTextTerminal<T>> im
         return defaultProperties.put(key, value);
     }
 
+    /**
+     * Initializes the terminal properties from the properties file, if available.
+     * <br>The parsed properties are cached process-wide, keyed by the location of the file and, for regular files,
+     * by their modification time and length. Therefore, the file is only read again after it has been modified.
+     * <br>If the system property {@value #SYSPROP_PROPERTIES_HOT_RELOAD} is set to {@code true},
+     * subsequent modifications of a properties file located in the file system are applied to this terminal while it is running.
+     */
     public void initProperties() {
-        initProperties(getPropertiesReader().orElse(null));
+        if(hasCustomPropertiesReader()) {
+            initProperties(getPropertiesReader().orElse(null));
+            return;
+        }
+        Optional<PropertiesSource> source = findPropertiesSource();
+        Map<String, String> resolvedProps = source.map(this::getResolvedProperties).orElse(Collections.emptyMap());
+        applyLoadedProperties(resolvedProps);
+        if(source.isPresent() && source.get().file != null && Boolean.getBoolean(SYSPROP_PROPERTIES_HOT_RELOAD)) {
+            PropertiesFileWatcher.register(source.get().file, this);
+        }
+    }
+
+    private boolean hasCustomPropertiesReader() {
+        return customReaderCache.computeIfAbsent(getClass(), cls -> {
+            try {
+                return cls.getMethod("getPropertiesReader").getDeclaringClass() != AbstractTextTerminal.class;
+            } catch (NoSuchMethodException e) {
+                return true;
+            }
+        });
     }
 
     public Optional<Reader> getPropertiesReader() {
+        return findPropertiesSource().flatMap(source -> {
+            try {
+                return Optional.of(source.openReader());
+            } catch (IOException e) {
+                logger.warn("Cannot read terminal properties from {}", source.location, e);
+                return Optional.empty();
+            }
+        });
+    }
+
+    private Optional<PropertiesSource> findPropertiesSource() {
         String propsPath = System.getProperty(SYSPROP_PROPERTIES_FILE_LOCATION, null);
         if(propsPath != null) {
             logger.debug("Found system property {} with value: {}", SYSPROP_PROPERTIES_FILE_LOCATION, propsPath);
@@ -94,24 +211,15 @@ public abstract class AbstractTextTerminal<T extends AbstractTextTerminal<T>> im
         }
         File propsFile = new File(propsPath);
         if(propsFile.exists()) {
-            try {
-                Reader reader = new FileReader(propsFile);
-                logger.debug("Found terminal properties file {}", propsFile.getAbsolutePath());
-                return Optional.of(reader);
-            } catch (FileNotFoundException e) {
-                logger.warn("Cannot read terminal properties from {}", propsFile.getAbsolutePath(), e);
-            }
+            logger.debug("Found terminal properties file {}", propsFile.getAbsolutePath());
+            return Optional.of(new PropertiesSource(propsFile));
         } else {
             logger.debug("Terminal properties file {} not found.", propsFile.getAbsolutePath());
         }
         URL propsResource = getClass().getResource("/textio.properties");
         if(propsResource != null) {
             logger.debug("Found terminal properties file in classpath: {}", propsResource);
-            try {
-                return Optional.of(new InputStreamReader(propsResource.openStream()));
-            } catch (IOException e) {
-                logger.warn("Cannot read terminal properties from " + propsResource, e);
-            }
+            return Optional.of(new PropertiesSource(propsResource));
         } else {
             logger.debug("No terminal properties file found in classpath.");
         }
@@ -119,6 +227,51 @@ public abstract class AbstractTextTerminal<T extends AbstractTextTerminal<T>> im
         return Optional.empty();
     }
 
+    private Map<String, String> getResolvedProperties(PropertiesSource source) {
+        ParsedProperties parsedProps = parsedPropertiesCache.get(source.location);
+        if(parsedProps == null || !parsedProps.stamp.equals(source.stamp)) {
+            Properties rawProps = new Properties();
+            try(Reader reader = source.openReader()) {
+                rawProps.load(reader);
+            } catch (IOException e) {
+                logger.warn("Failed to read terminal properties from {}", source.location, e);
+            }
+            parsedProps = new ParsedProperties(source.stamp, rawProps);
+            parsedPropertiesCache.put(source.location, parsedProps);
+        }
+        Properties rawProps = parsedProps.rawProps;
+        return parsedProps.resolvedProps.computeIfAbsent(getPropertiesPrefixes(), prefixes -> resolveProperties(rawProps));
+    }
+
+    /**
+     * Reloads the properties from the given file and applies only the properties whose values have changed.
+     * Called by the {@link PropertiesFileWatcher} after the file has been modified.
+     */
+    void reloadProperties(File propsFile) {
+        if(!propsFile.exists()) {
+            logger.debug("Terminal properties file {} no longer exists.", propsFile.getAbsolutePath());
+            return;
+        }
+        Map<String, String> oldProps = loadedProperties;
+        Map<String, String> newProps = getMergedProperties(getResolvedProperties(new PropertiesSource(propsFile)));
+        Map<String, String> changedProps = new HashMap<>();
+        newProps.forEach((key, value) -> {
+            if(!oldProps.containsKey(key) || !Objects.equals(oldProps.get(key), value)) {
+                changedProps.put(key, value);
+            }
+        });
+        oldProps.keySet().forEach(key -> {
+            if(!newProps.containsKey(key)) {
+                changedProps.put(key, null);
+            }
+        });
+        loadedProperties = newProps;
+        if(!changedProps.isEmpty()) {
+            logger.debug("Reloaded terminal properties from {}. Changed keys: {}", propsFile.getAbsolutePath(), changedProps.keySet());
+            properties.putAllBaseValues(changedProps);
+        }
+    }
+
     public void initProperties(Reader propsReader) {
         Properties rawProps = new Properties();
         if(propsReader != null) {
@@ -132,7 +285,11 @@ public abstract class AbstractTextTerminal<T extends AbstractTextTerminal<T>> im
     }
 
     public void initProperties(Properties rawProps) {
-        Map<String,String> props = new HashMap<>(defaultProperties);
+        applyLoadedProperties(resolveProperties(rawProps));
+    }
+
+    private Map<String, String> resolveProperties(Properties rawProps) {
+        Map<String,String> props = new HashMap<>();
         for(String pp : getPropertiesPrefixes()) {
             String prefix = pp + ".";
             int prefixLen = prefix.length();
@@ -147,6 +304,18 @@ public abstract class AbstractTextTerminal<T extends AbstractTextTerminal<T>> im
                 }
             }
         }
+        return Collections.unmodifiableMap(props);
+    }
+
+    private Map<String, String> getMergedProperties(Map<String, String> resolvedProps) {
+        Map<String,String> props = new HashMap<>(defaultProperties);
+        props.putAll(resolvedProps);
+        return props;
+    }
+
+    private void applyLoadedProperties(Map<String, String> resolvedProps) {
+        Map<String,String> props = getMergedProperties(resolvedProps);
+        loadedProperties = props;
         properties.putAll(props);
     }
 }
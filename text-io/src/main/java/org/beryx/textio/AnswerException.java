@@ -0,0 +1,50 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.beryx.textio;
+
+import java.util.List;
+
+/**
+ * Thrown by an {@link InputReader} configured with a {@link AnswerSource#isStrict() strict} {@link AnswerSource},
+ * if the answer for its item is missing or invalid.
+ */
+public class AnswerException extends RuntimeException {
+    private final String itemName;
+    private final String answer;
+    private final List<String> errorMessages;
+
+    public AnswerException(String message, String itemName, String answer, List<String> errorMessages) {
+        super(message);
+        this.itemName = itemName;
+        this.answer = answer;
+        this.errorMessages = errorMessages;
+    }
+
+    /** @return the item name of the input reader. May be null. */
+    public String getItemName() {
+        return itemName;
+    }
+
+    /** @return the invalid answer, or null if the answer is missing. */
+    public String getAnswer() {
+        return answer;
+    }
+
+    /** @return the error messages produced by the invalid answer, or null if the answer is missing. */
+    public List<String> getErrorMessages() {
+        return errorMessages;
+    }
+}
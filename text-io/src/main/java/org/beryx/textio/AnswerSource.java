@@ -0,0 +1,163 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.beryx.textio;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Provides predefined answers for non-interactive runs.
+ * <br>An {@link InputReader} configured with an answer source (see {@link InputReader#withAnswerSource(AnswerSource)}
+ * and {@link TextIO#withAnswerSource(AnswerSource)}) looks up the answer associated with its item name
+ * (see {@link InputReader#withItemName(String)}) before accessing the terminal.
+ * If an answer is found, it is parsed and checked exactly like an input string typed by the user, but nothing is printed.
+ * <br>If no answer is found, the reader prompts the user, unless the answer source is {@link #isStrict() strict}.
+ * In this case, an {@link AnswerException} is thrown, so that headless batch runs never block waiting for input.
+ * <br>Answers for {@link InputReader#readList(String...) readList} are comma-separated values.
+ * Answers for readers with numbered possible values are the values themselves, not their indexes.
+ * An empty answer selects the default value of the reader.
+ */
+@FunctionalInterface
+public interface AnswerSource {
+    /**
+     * @param itemName the item name of the input reader.
+     * @return the answer for the given item, or null if this source has no answer for it.
+     */
+    String getAnswer(String itemName);
+
+    /**
+     * @return true, if a missing or invalid answer should cause an {@link AnswerException} instead of prompting the user.
+     * Default: false
+     */
+    default boolean isStrict() {
+        return false;
+    }
+
+    /**
+     * @return an answer source with the same answers as this one, whose {@link #isStrict()} method returns true.
+     */
+    default AnswerSource strict() {
+        AnswerSource source = this;
+        return new AnswerSource() {
+            @Override
+            public String getAnswer(String itemName) {
+                return source.getAnswer(itemName);
+            }
+
+            @Override
+            public boolean isStrict() {
+                return true;
+            }
+        };
+    }
+
+    /**
+     * @return an answer source that looks up the answers first in this source and then in the {@code other} one.
+     * The strictness of this source is preserved.
+     */
+    default AnswerSource orElse(AnswerSource other) {
+        AnswerSource source = this;
+        return new AnswerSource() {
+            @Override
+            public String getAnswer(String itemName) {
+                String answer = source.getAnswer(itemName);
+                return (answer != null) ? answer : other.getAnswer(itemName);
+            }
+
+            @Override
+            public boolean isStrict() {
+                return source.isStrict();
+            }
+        };
+    }
+
+    /**
+     * Creates an answer source backed by a map.
+     * Non-string values are converted by calling {@link String#valueOf(Object)}.
+     * Iterable values (for example the result of parsing a JSON or YAML array) are converted to a comma-separated list.
+     * The map is copied, so subsequent changes to it are not reflected in the answer source.
+     */
+    static AnswerSource fromMap(Map<String, ?> answers) {
+        Map<String, String> copy = new HashMap<>();
+        answers.forEach((key, value) -> {
+            if(value != null) copy.put(key, toAnswer(value));
+        });
+        return copy::get;
+    }
+
+    /** Creates an answer source backed by the given properties, keyed by item name. */
+    static AnswerSource fromProperties(Properties props) {
+        Map<String, String> answers = new HashMap<>();
+        props.stringPropertyNames().forEach(key -> answers.put(key, props.getProperty(key)));
+        return answers::get;
+    }
+
+    /**
+     * Creates an answer source backed by a properties file, keyed by item name. The file is read using the UTF-8 encoding.
+     * @throws UncheckedIOException if the file cannot be read.
+     */
+    static AnswerSource fromPropertiesFile(File file) {
+        Properties props = new Properties();
+        try(Reader reader = new InputStreamReader(Files.newInputStream(file.toPath()), StandardCharsets.UTF_8)) {
+            props.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read the answers file " + file, e);
+        }
+        return fromProperties(props);
+    }
+
+    /**
+     * Creates an answer source backed by the environment variables.
+     * The name of the variable associated with an item is the given prefix followed by the item name,
+     * converted to upper case and with all characters that are not letters or digits replaced by underscores.
+     * For example, with the prefix {@code "APP_"}, the answer for the item {@code "user.name"} is read from {@code APP_USER_NAME}.
+     */
+    static AnswerSource fromEnvironment(String prefix) {
+        Map<String, String> env = System.getenv();
+        return itemName -> env.get(getEnvironmentVariableName(prefix, itemName));
+    }
+
+    /**
+     * @return the name of the environment variable providing the answer for the given item.
+     * @see #fromEnvironment(String)
+     */
+    static String getEnvironmentVariableName(String prefix, String itemName) {
+        String name = itemName.toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9]", "_");
+        return (prefix == null) ? name : (prefix + name);
+    }
+
+    /**
+     * Converts a value to an answer string, as done by {@link #fromMap(Map)}.
+     */
+    static String toAnswer(Object value) {
+        if(!(value instanceof Iterable)) return String.valueOf(value);
+        StringBuilder sb = new StringBuilder();
+        for(Object item : (Iterable<?>)value) {
+            if(sb.length() > 0) sb.append(',');
+            sb.append(item);
+        }
+        return sb.toString();
+    }
+}
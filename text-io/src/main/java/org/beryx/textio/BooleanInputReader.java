@@ -57,7 +57,7 @@ public class BooleanInputReader extends InputReader<Boolean, BooleanInputReader>
     protected ParseResult<Boolean> parse(String s) {
         if(trueInput.equalsIgnoreCase(s)) return new ParseResult<>(true);
         if(falseInput.equalsIgnoreCase(s)) return new ParseResult<>(false);
-        return new ParseResult<>(null, getErrorMessages(s));
+        return getErrorResult(s);
     }
 
     @Override
@@ -20,7 +20,7 @@ import java.util.function.Supplier;
 /**
  * A reader for byte values.
  */
-public class ByteInputReader extends ComparableInputReader<Byte, ByteInputReader> {
+public class ByteInputReader extends NumberInputReader<Byte, ByteInputReader> {
     public ByteInputReader(Supplier<TextTerminal<?>> textTerminalSupplier) {
         super(textTerminalSupplier);
     }
@@ -32,10 +32,8 @@ public class ByteInputReader extends ComparableInputReader<Byte, ByteInputReader
 
     @Override
     protected ParseResult<Byte> parse(String s) {
-        try {
-            return new ParseResult<>(Byte.parseByte(s));
-        } catch (NumberFormatException e) {
-            return new ParseResult<>(null, getErrorMessages(s));
-        }
+        NumberParser parser = getNumberParser();
+        if(!parser.parseLong(s, Byte.MIN_VALUE, Byte.MAX_VALUE)) return getErrorResult(s);
+        return new ParseResult<>((byte)parser.getLongValue());
     }
 }
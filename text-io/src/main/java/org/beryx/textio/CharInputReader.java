@@ -32,7 +32,7 @@ public class CharInputReader extends ComparableInputReader<Character, CharInputR
 
     @Override
     protected ParseResult<Character> parse(String s) {
-        if(s == null || s.length() != 1) return new ParseResult<>(null, getErrorMessages(s));
+        if(s == null || s.length() != 1) return getErrorResult(s);
         return new ParseResult<>(s.charAt(0));
     }
 }
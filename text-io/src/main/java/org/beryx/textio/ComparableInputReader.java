@@ -28,12 +28,19 @@ public abstract class ComparableInputReader<T extends Comparable<T>, B extends C
     protected T minVal;
     protected T maxVal;
 
+    private String standardMinMaxErrorMessage;
+    private T messageMinVal;
+    private T messageMaxVal;
+
+    /** The value checker that detects values outside the [minVal, maxVal] range */
+    protected final ValueChecker<T> minMaxChecker = checkerWithCost((val, propName) -> getMinMaxErrorMessage(val), ValueChecker.COST_LOW);
+
     protected abstract String typeNameWithIndefiniteArticle();
 
     public ComparableInputReader(Supplier<TextTerminal<?>> textTerminalSupplier) {
         super(textTerminalSupplier);
         parseErrorMessagesProvider = (val, propName) -> Arrays.asList(getDefaultErrorMessage(val), getStandardMinMaxErrorMessage());
-        valueCheckers.add((val, propName) -> getMinMaxErrorMessage(val));
+        valueCheckers.add(minMaxChecker);
     }
 
     /** Configures the minimum allowed value */
@@ -55,7 +62,18 @@ public abstract class ComparableInputReader<T extends Comparable<T>, B extends C
         return Collections.singletonList(getStandardMinMaxErrorMessage());
     }
 
-    private String getStandardMinMaxErrorMessage() {
+    /** Returns the message describing the allowed type and range of the values. */
+    protected String getStandardMinMaxErrorMessage() {
+        // The message only depends on the range, so it is rebuilt only after minVal or maxVal have changed.
+        if(standardMinMaxErrorMessage == null || messageMinVal != minVal || messageMaxVal != maxVal) {
+            standardMinMaxErrorMessage = createStandardMinMaxErrorMessage();
+            messageMinVal = minVal;
+            messageMaxVal = maxVal;
+        }
+        return standardMinMaxErrorMessage;
+    }
+
+    private String createStandardMinMaxErrorMessage() {
         if(minVal != null && maxVal != null) return "Expected " + typeNameWithIndefiniteArticle() + " value between " + minVal + " and " + maxVal + ".";
         if(minVal != null) return "Expected " + typeNameWithIndefiniteArticle() + " value greater than or equal to " + minVal + ".";
         if(maxVal != null) return "Expected " + typeNameWithIndefiniteArticle() + " value less than or equal to " + maxVal + ".";
@@ -15,12 +15,18 @@
  */
 package org.beryx.textio;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.function.Supplier;
 
 /**
  * A reader for double values.
  */
-public class DoubleInputReader extends ComparableInputReader<Double, DoubleInputReader> {
+public class DoubleInputReader extends NumberInputReader<Double, DoubleInputReader> {
+    /** The list of checkers used to detect constraint violations for the arrays read via {@link #readDoubleArray(List)} */
+    protected final List<ValueChecker<double[]>> doubleArrayCheckers = new ArrayList<>();
+
     public DoubleInputReader(Supplier<TextTerminal<?>> textTerminalSupplier) {
         super(textTerminalSupplier);
     }
@@ -30,12 +36,137 @@ public class DoubleInputReader extends ComparableInputReader<Double, DoubleInput
         return "a double";
     }
 
+    @Override
+    protected String getInputRulesNumberType() {
+        return InputRules.NUMBER_TYPE_DECIMAL;
+    }
+
     @Override
     protected ParseResult<Double> parse(String s) {
-        try {
-            return new ParseResult<>(Double.parseDouble(s));
-        } catch (NumberFormatException e) {
-            return new ParseResult<>(null, getErrorMessages(s));
+        NumberParser parser = getNumberParser();
+        if(!parser.parseDouble(s)) return getErrorResult(s);
+        return new ParseResult<>(parser.getDoubleValue());
+    }
+
+    /** Adds the checker passed as argument, used for the arrays read via {@link #readDoubleArray(List)}. May be called multiple times. */
+    public DoubleInputReader withDoubleArrayChecker(ValueChecker<double[]> arrayChecker) {
+        this.doubleArrayCheckers.add(arrayChecker);
+        return this;
+    }
+
+    public double[] readDoubleArray(String... prompt) {
+        return readDoubleArray(Arrays.asList(prompt));
+    }
+
+    /**
+     * Reads a comma-separated list of values, like {@link #readList(List)}, but returns them as an array of primitives.
+     * The values are parsed and range-checked without being boxed.
+     * @param prompt the list of messages to be displayed for prompting the user to enter the values
+     * @return the values parsed from the input string
+     */
+    public double[] readDoubleArray(List<String> prompt) {
+        return readArray(prompt, new DoubleValues(), doubleArrayCheckers);
+    }
+
+    /** Returns a checker that only accepts arrays sorted in ascending order. */
+    public static ValueChecker<double[]> sortedArrayChecker() {
+        return sortedArrayChecker(DoubleValues::new);
+    }
+
+    /** Returns a checker that only accepts arrays without duplicate values. */
+    public static ValueChecker<double[]> noDuplicatesArrayChecker() {
+        return noDuplicatesArrayChecker(DoubleValues::new);
+    }
+
+    /** Returns a checker that only accepts arrays whose sum of values is between minSum and maxSum. */
+    public static ValueChecker<double[]> sumRangeArrayChecker(double minSum, double maxSum) {
+        return sumRangeArrayChecker(DoubleValues::new, minSum, maxSum);
+    }
+
+    private static class DoubleValues extends PrimitiveValues<Double, double[]> {
+        private double[] data;
+        private int size;
+
+        DoubleValues() {
+            this.data = new double[16];
+        }
+
+        /** Wraps the given array, without copying it */
+        DoubleValues(double[] values) {
+            this.data = values;
+            this.size = values.length;
+        }
+
+        @Override
+        boolean parseAndAdd(NumberParser parser, CharSequence s, int start, int end) {
+            if(!parser.parseDouble(s, start, end)) return false;
+            append(parser.getDoubleValue());
+            return true;
+        }
+
+        private void append(double value) {
+            if(size == data.length) data = Arrays.copyOf(data, 2 * size);
+            data[size++] = value;
+        }
+
+        @Override
+        boolean isLastInRange(NumberInputReader<?, ?> reader) {
+            return reader.isInRange(data[size - 1]);
+        }
+
+        @Override
+        Double getLast() {
+            return data[size - 1];
+        }
+
+        @Override
+        void add(Double value) {
+            append(value);
+        }
+
+        @Override
+        void clear() {
+            size = 0;
+        }
+
+        @Override
+        double[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+
+        @Override
+        List<Double> toList() {
+            List<Double> list = new ArrayList<>(size);
+            for(int i = 0; i < size; i++) list.add(data[i]);
+            return list;
+        }
+
+        @Override
+        int size() {
+            return size;
+        }
+
+        @Override
+        boolean isGreater(int i, int j) {
+            return data[i] > data[j];
+        }
+
+        @Override
+        boolean isSame(int i, int j) {
+            return Double.compare(data[i], data[j]) == 0;
+        }
+
+        @Override
+        void sort() {
+            data = Arrays.copyOf(data, size);
+            Arrays.sort(data);
+        }
+
+        @Override
+        boolean isSumInRange(Number minSum, Number maxSum) {
+            double sum = 0;
+            for(int i = 0; i < size; i++) sum += data[i];
+            return sum >= minSum.doubleValue() && sum <= maxSum.doubleValue();
         }
     }
 }
@@ -20,7 +20,7 @@ import java.util.function.Supplier;
 /**
  * A reader for float values.
  */
-public class FloatInputReader extends ComparableInputReader<Float, FloatInputReader> {
+public class FloatInputReader extends NumberInputReader<Float, FloatInputReader> {
     public FloatInputReader(Supplier<TextTerminal<?>> textTerminalSupplier) {
         super(textTerminalSupplier);
     }
@@ -30,12 +30,21 @@ public class FloatInputReader extends ComparableInputReader<Float, FloatInputRea
         return "a float";
     }
 
+    @Override
+    protected String getInputRulesNumberType() {
+        return InputRules.NUMBER_TYPE_DECIMAL;
+    }
+
+    /** Float values are compared in single precision, so the range is not included in the {@link InputRules}. */
+    @Override
+    protected boolean isInputRulesRangeSupported() {
+        return false;
+    }
+
     @Override
     protected ParseResult<Float> parse(String s) {
-        try {
-            return new ParseResult<>(Float.parseFloat(s));
-        } catch (NumberFormatException e) {
-            return new ParseResult<>(null, getErrorMessages(s));
-        }
+        NumberParser parser = getNumberParser();
+        if(!parser.parseFloat(s)) return getErrorResult(s);
+        return new ParseResult<>(parser.getFloatValue());
     }
 }
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.beryx.textio;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A group of fields, each one read by an {@link InputReader}, whose values are collected together.
+ * <br>On terminals supporting forms (see {@link TextTerminal#readForm(List)}), all fields are displayed at once
+ * and their input strings are submitted in a single operation. All fields are then validated in one pass
+ * and, if some of them are invalid, the form is displayed again together with the error messages.
+ * On the other terminals, the fields are read one after another, by calling {@link InputReader#read(List)}.
+ * <br>Instances are obtained by calling {@link TextIO#newForm()}. Typical usage:
+ * <pre>
+ * Form form = textIO.newForm();
+ * Form.Field&lt;String&gt; name = form.addField(textIO.newStringInputReader(), "Name");
+ * Form.Field&lt;Integer&gt; age = form.addField(textIO.newIntInputReader().withMinVal(18), "Age");
+ * form.read();
+ * System.out.println(name.getValue() + " is " + age.getValue() + " years old.");
+ * </pre>
+ */
+public class Form {
+    private static final Logger logger =  LoggerFactory.getLogger(Form.class);
+
+    /**
+     * The description of a field, as passed to {@link TextTerminal#readForm(List)}.
+     */
+    public static class FieldInput {
+        private final String label;
+        private final boolean masking;
+        private final InputRules rules;
+        private final List<String> options;
+        private final String placeholder;
+        private String value;
+        private List<String> errorMessages;
+
+        public FieldInput(String label, boolean masking, InputRules rules, List<String> options, String placeholder, String value) {
+            this.label = label;
+            this.masking = masking;
+            this.rules = rules;
+            this.options = options;
+            this.placeholder = placeholder;
+            this.value = value;
+        }
+
+        /** @return the text describing the field */
+        public String getLabel() {
+            return label;
+        }
+
+        /** @return true, if the input should be masked */
+        public boolean isMasking() {
+            return masking;
+        }
+
+        /** @return the rules that may be used to validate the input before submitting it. May be null. */
+        public InputRules getRules() {
+            return rules;
+        }
+
+        /**
+         * @return the options to choose from, or null if the field accepts free text.
+         * If options are present, the input string of the field is the index of the chosen option, starting with 1.
+         */
+        public List<String> getOptions() {
+            return options;
+        }
+
+        /** @return the text representing the value used if the input is empty, or null if the field has no default value. */
+        public String getPlaceholder() {
+            return placeholder;
+        }
+
+        /** @return the initial input string of the field */
+        public String getValue() {
+            return value;
+        }
+
+        void setValue(String value) {
+            this.value = value;
+        }
+
+        /** @return the error messages caused by the previous input of this field, or null if the field is valid. */
+        public List<String> getErrorMessages() {
+            return errorMessages;
+        }
+
+        void setErrorMessages(List<String> errorMessages) {
+            this.errorMessages = errorMessages;
+        }
+
+        @Override
+        public String toString() {
+            return "label: " + label + ", masking: " + masking + ", options: " + options + ", errorMessages: " + errorMessages;
+        }
+    }
+
+    /**
+     * A field of this form, which provides the value read for it.
+     * @param <T> the type of the value
+     */
+    public static class Field<T> {
+        private final InputReader<T, ?> inputReader;
+        private final List<String> prompt;
+        private T value;
+
+        Field(InputReader<T, ?> inputReader, List<String> prompt) {
+            this.inputReader = inputReader;
+            this.prompt = prompt;
+        }
+
+        /** @return the value read for this field, or null if the form has not been read yet. */
+        public T getValue() {
+            return value;
+        }
+
+        private void readSequentially() {
+            value = inputReader.read(prompt);
+        }
+
+        private FieldInput createInput(TextTerminal<?> textTerminal) {
+            return inputReader.createFormFieldInput(prompt, textTerminal);
+        }
+
+        /**
+         * Parses the input string and stores the resulting value.
+         * @return null, if the input is valid. Otherwise, the error messages.
+         */
+        private List<String> parse(String sInput) {
+            InputReader.ParseResult<T> result = inputReader.parseFormInput(sInput);
+            if(result.isValid()) {
+                value = result.getValue();
+                return null;
+            }
+            List<String> errors = result.getErrorMessages();
+            return (errors != null) ? errors : Collections.singletonList("Invalid value.");
+        }
+    }
+
+    protected final TextTerminal<?> textTerminal;
+    private final List<Field<?>> fields = new ArrayList<>();
+
+    public Form(TextTerminal<?> textTerminal) {
+        this.textTerminal = textTerminal;
+    }
+
+    /**
+     * Adds a field whose value is read by the given input reader.
+     * List values are not supported: the value is read as if calling {@link InputReader#read(List)}.
+     * @param prompt the messages describing the field
+     * @return the field, which provides the value after the form has been read.
+     */
+    public <T> Field<T> addField(InputReader<T, ?> inputReader, String... prompt) {
+        Field<T> field = new Field<>(inputReader, Arrays.asList(prompt));
+        fields.add(field);
+        return field;
+    }
+
+    /**
+     * Reads the values of all fields, repeatedly displaying the form until all input strings are valid.
+     * The input strings of masked fields are not sent back to the terminal when the form is displayed again.
+     * If an {@link AnswerSource} is configured for some of the input readers, the fields are read one by one,
+     * so that the answers are used instead of displaying the form.
+     * @return the values of the fields, in the order in which the fields have been added.
+     */
+    public List<Object> read() {
+        if(fields.stream().anyMatch(field -> field.inputReader.answerSource != null)) {
+            logger.debug("Answer sources configured. Reading the fields sequentially.");
+            fields.forEach(Field::readSequentially);
+            return getValues();
+        }
+        List<FieldInput> inputs = new ArrayList<>(fields.size());
+        for(Field<?> field : fields) {
+            inputs.add(field.createInput(textTerminal));
+        }
+        List<String> answers = readForm(inputs);
+        if(answers == null) {
+            logger.debug("Forms not supported by the terminal. Reading the fields sequentially.");
+            fields.forEach(Field::readSequentially);
+        } else {
+            while(!parseAnswers(inputs, answers)) {
+                answers = readForm(inputs);
+                if(answers == null) throw new IllegalStateException("The terminal stopped supporting forms.");
+            }
+        }
+        return getValues();
+    }
+
+    private List<Object> getValues() {
+        List<Object> values = new ArrayList<>(fields.size());
+        for(Field<?> field : fields) {
+            values.add(field.getValue());
+        }
+        return values;
+    }
+
+    private List<String> readForm(List<FieldInput> inputs) {
+        while(true) {
+            try {
+                return textTerminal.readForm(inputs);
+            } catch (ReadInterruptionException e) {
+                ReadInterruptionStrategy.Action action = e.getReadInterruptionData().getAction();
+                if(action == ReadInterruptionStrategy.Action.ABORT) {
+                    throw new ReadAbortedException(e.getReadInterruptionData().getPayload(), e.getPartialInput());
+                }
+                logger.debug("Form reading interrupted with action {}. Displaying the form again.", action);
+            }
+        }
+    }
+
+    /**
+     * Validates all answers in one pass.
+     * @return true, if all answers are valid.
+     */
+    private boolean parseAnswers(List<FieldInput> inputs, List<String> answers) {
+        boolean valid = true;
+        for(int i = 0; i < fields.size(); i++) {
+            String answer = (i < answers.size()) ? answers.get(i) : null;
+            List<String> errors = fields.get(i).parse(answer);
+            FieldInput input = inputs.get(i);
+            input.setErrorMessages(errors);
+            input.setValue((input.isMasking() || answer == null) ? "" : answer);
+            if(errors != null) valid = false;
+        }
+        return valid;
+    }
+}
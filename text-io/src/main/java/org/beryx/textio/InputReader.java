@@ -36,6 +36,9 @@ public abstract class InputReader<T, B extends InputReader<T, B>> {
 
     public static final String PROPS_PREFIX_ERROR_MESSAGE = "error";
 
+    /** The number of values for which the results of a checker added via {@link #withMemoizedValueChecker(ValueChecker, int)} are cached */
+    public static final int DEFAULT_MEMOIZED_CHECKER_SIZE = 64;
+
     /** Functional interface for providing error messages */
     @FunctionalInterface
     public interface ErrorMessagesProvider {
@@ -65,6 +68,15 @@ public abstract class InputReader<T, B extends InputReader<T, B>> {
     /** Functional interface for checking value constraints */
     @FunctionalInterface
     public interface ValueChecker<T> {
+        /** Cost hint for checkers that perform only simple comparisons, such as length or range checks */
+        int COST_LOW = 10;
+
+        /** Cost hint for ordinary checkers, such as regex matching */
+        int COST_DEFAULT = 100;
+
+        /** Cost hint for checkers that perform heavy computations or lookups in external resources */
+        int COST_HIGH = 1000;
+
         /**
          * Returns the list of error messages due to constraint violations caused by <code>val</code>
          * @param val the value for which constraint violations are checked
@@ -72,15 +84,25 @@ public abstract class InputReader<T, B extends InputReader<T, B>> {
          * @return - the list of error messages or null if no error has been detected.
          */
         List<String> getErrorMessages(T val, String itemName);
+
+        /**
+         * Returns a hint about the cost of this checker. Checkers with a lower cost are run first.
+         * Default: {@link #COST_DEFAULT}
+         */
+        default int getCost() {
+            return COST_DEFAULT;
+        }
     }
 
     /**
      * A holder object returned by the {@link #parse(String)} method, containing the parsed value and/or the error messages.
+     * <br>The error messages may be provided lazily, via a supplier that is called only when the messages are actually needed.
      * @param <T>
      */
     public static class ParseResult<T> {
         private final T value;
-        private final List<String> errorMessages;
+        private List<String> errorMessages;
+        private Supplier<List<String>> errorMessagesSupplier;
 
         public ParseResult(T value) {
             this.value = value;
@@ -97,11 +119,32 @@ public abstract class InputReader<T, B extends InputReader<T, B>> {
             this.errorMessages = (errorMessages.length == 0) ? null : Arrays.asList(errorMessages);
         }
 
+        /**
+         * Creates a result with errors, whose messages are provided on demand.
+         * @param errorMessagesSupplier the supplier of the error messages. It should return a non-empty list.
+         */
+        public ParseResult(T value, Supplier<List<String>> errorMessagesSupplier) {
+            this.value = value;
+            this.errorMessagesSupplier = errorMessagesSupplier;
+        }
+
         public T getValue() {
             return value;
         }
 
+        /**
+         * @return true, if no errors have been detected. This method does not build the error messages.
+         */
+        public boolean isValid() {
+            return errorMessages == null && errorMessagesSupplier == null;
+        }
+
         public List<String> getErrorMessages() {
+            if(errorMessagesSupplier != null) {
+                List<String> messages = errorMessagesSupplier.get();
+                errorMessages = (messages != null && messages.isEmpty()) ? null : messages;
+                errorMessagesSupplier = null;
+            }
             return errorMessages;
         }
     }
@@ -148,11 +191,33 @@ public abstract class InputReader<T, B extends InputReader<T, B>> {
     /** The list of value checkers used to detect constraint violations for a list of values */
     protected final List<ValueChecker<List<T>>> valueListCheckers = new ArrayList<>();
 
+    /**
+     * If true, the value checkers stop at the first detected constraint violation.
+     * Otherwise, the error messages of all value checkers are reported.
+     * Default: false
+     */
+    protected boolean failFastChecks = false;
+
+    /**
+     * If true, the rules created by {@link #createInputRules()} are passed to the terminal,
+     * which may use them to reject invalid input before submitting it.
+     * The rules are only created for terminals that support them (see {@link TextTerminal#isInputRulesSupported()}).
+     * Default: true
+     */
+    protected boolean clientValidation = true;
+
+    /** The source of predefined answers, which is consulted before accessing the terminal. May be null. */
+    protected AnswerSource answerSource;
+
+    private List<ValueChecker<T>> orderedValueCheckers;
+    private List<ValueChecker<T>> orderedValueCheckersSource;
+
     /** The formatter used when displaying values of type T. Default: use {@link String#valueOf(Object)} */
     protected Function<T, String> valueFormatter = String::valueOf;
 
     /** The function used to check whether two values are equal. Default: {@link Objects#equals(Object, Object)} */
     protected BiFunction<T, T, Boolean> equalsFunc = Objects::equals;
+    private boolean customEqualsFunc = false;
 
     protected Consumer<TerminalProperties<?>> propertiesConfigurator = null;
 
@@ -253,6 +318,7 @@ public abstract class InputReader<T, B extends InputReader<T, B>> {
     @SuppressWarnings("unchecked")
     public B withEqualsFunc(BiFunction<T, T, Boolean> equalsFunc) {
         this.equalsFunc = equalsFunc;
+        this.customEqualsFunc = true;
         return (B)this;
     }
 
@@ -268,6 +334,31 @@ public abstract class InputReader<T, B extends InputReader<T, B>> {
         return (B)this;
     }
 
+    /**
+     * Configures whether the constraints of this reader are passed to the terminal as {@link InputRules},
+     * allowing terminals running on a remote client to reject obviously invalid input locally.
+     * The input is validated by this reader regardless of this setting.
+     * Clients that display custom error messages or that should not see the constraints may disable this option.
+     * Default: true
+     */
+    @SuppressWarnings("unchecked")
+    public B withClientValidation(boolean clientValidation) {
+        this.clientValidation = clientValidation;
+        return (B)this;
+    }
+
+    /**
+     * Configures a source of predefined answers, keyed by the item name of this reader (see {@link #withItemName(String)}).
+     * If the source provides an answer, the read methods return the value parsed from it without accessing the terminal.
+     * See {@link AnswerSource} for details.
+     * @param answerSource the source of answers. May be null, in order to always read the value from the terminal.
+     */
+    @SuppressWarnings("unchecked")
+    public B withAnswerSource(AnswerSource answerSource) {
+        this.answerSource = answerSource;
+        return (B)this;
+    }
+
     /** Adds the valueChecker passed as argument. May be called multiple times. */
     @SuppressWarnings("unchecked")
     public B withValueChecker(ValueChecker<T> valueChecker) {
@@ -275,6 +366,34 @@ public abstract class InputReader<T, B extends InputReader<T, B>> {
         return (B)this;
     }
 
+    /**
+     * Adds the valueChecker passed as argument, using the given cost hint. May be called multiple times.
+     * @param cost the cost hint. Checkers with a lower cost are run first. See {@link ValueChecker#COST_LOW}, {@link ValueChecker#COST_DEFAULT} and {@link ValueChecker#COST_HIGH}.
+     */
+    public B withValueChecker(ValueChecker<T> valueChecker, int cost) {
+        return withValueChecker(checkerWithCost(valueChecker, cost));
+    }
+
+    /**
+     * Adds a value checker that caches the error messages of the valueChecker passed as argument for recently checked values.
+     * Useful for expensive checkers that are repeatedly asked to check identical values.
+     * The valueChecker should always yield the same result for a given value.
+     * @param cost the cost hint. See {@link #withValueChecker(ValueChecker, int)}.
+     */
+    public B withMemoizedValueChecker(ValueChecker<T> valueChecker, int cost) {
+        return withValueChecker(memoizedChecker(checkerWithCost(valueChecker, cost), DEFAULT_MEMOIZED_CHECKER_SIZE));
+    }
+
+    /**
+     * Configures whether the value checkers should stop at the first detected constraint violation.
+     * Since the checkers are run in the order given by their cost, the remaining (more expensive) checkers are then skipped.
+     */
+    @SuppressWarnings("unchecked")
+    public B withFailFastChecks(boolean failFastChecks) {
+        this.failFastChecks = failFastChecks;
+        return (B)this;
+    }
+
     /** Adds the valueListChecker passed as argument. May be called multiple times. */
     @SuppressWarnings("unchecked")
     public B withValueListChecker(ValueChecker<List<T>> valueListChecker) {
@@ -312,14 +431,7 @@ public abstract class InputReader<T, B extends InputReader<T, B>> {
      **/
     @SuppressWarnings("unchecked")
     public B withPropertiesPrefix(String prefix) {
-        return withPropertiesConfigurator(t -> {
-            Set<String> keys = t.getMatchingKeys(key -> key.startsWith(prefix + "."));
-            int len = prefix.length() + 1;
-            keys.forEach(key -> {
-                String baseKey = key.substring(len);
-                t.put(baseKey, t.getString(key));
-            });
-        });
+        return withPropertiesConfigurator(t -> t.putAllWithPrefix(prefix));
     }
 
     /**
@@ -329,6 +441,10 @@ public abstract class InputReader<T, B extends InputReader<T, B>> {
         return valueListMode;
     }
 
+    void setValueListMode(boolean valueListMode) {
+        this.valueListMode = valueListMode;
+    }
+
     /** Returns a generic error message. */
     protected String getDefaultErrorMessage(String sVal) {
         StringBuilder errBuilder = new StringBuilder("Invalid value");
@@ -360,6 +476,14 @@ public abstract class InputReader<T, B extends InputReader<T, B>> {
         return getDefaultErrorMessages(s);
     }
 
+    /**
+     * Returns a parse result for the invalid input string <code>s</code>.
+     * The error messages are built by {@link #getErrorMessages(String)} only when they are actually needed.
+     */
+    protected final ParseResult<T> getErrorResult(String s) {
+        return new ParseResult<>(null, () -> getErrorMessages(s));
+    }
+
     /**
      * Parses the input string and runs all value checkers in order to find constraint violations.
      * @param s the input string
@@ -367,20 +491,51 @@ public abstract class InputReader<T, B extends InputReader<T, B>> {
      */
     protected ParseResult<T> parseAndCheck(String s) {
         ParseResult<T> res = parse(s);
-        if(res.errorMessages == null) {
-            List<String> allErrors = new ArrayList<>();
-            for(ValueChecker<T> checker : valueCheckers) {
-                List<String> errors = checker.getErrorMessages(res.value, itemName);
-                if(errors != null) allErrors.addAll(errors);
-            }
-            if(!allErrors.isEmpty()) {
-                allErrors.add(0, getDefaultErrorMessage(s));
+        if(res.isValid()) {
+            List<String> allErrors = getValueErrorMessages(res.value, s);
+            if(allErrors != null) {
                 res = new ParseResult<>(res.value, allErrors);
             }
         }
         return res;
     }
 
+    /**
+     * Runs all value checkers for a successfully parsed value.
+     * @param value the parsed value
+     * @param s the input string
+     * @return null, if no constraint violations have been detected. Otherwise, the error messages, starting with the default error message.
+     */
+    List<String> getValueErrorMessages(T value, String s) {
+        List<String> allErrors = null;
+        for(ValueChecker<T> checker : getOrderedValueCheckers()) {
+            List<String> errors = checker.getErrorMessages(value, itemName);
+            if(errors != null && !errors.isEmpty()) {
+                if(allErrors == null) {
+                    allErrors = new ArrayList<>();
+                    allErrors.add(getDefaultErrorMessage(s));
+                }
+                allErrors.addAll(errors);
+                if(failFastChecks) break;
+            }
+        }
+        return allErrors;
+    }
+
+    /**
+     * @return the value checkers sorted by cost. Checkers with the same cost keep their registration order.
+     */
+    private List<ValueChecker<T>> getOrderedValueCheckers() {
+        // The sorted copy is reused as long as the list of value checkers has not been modified
+        if(orderedValueCheckers == null || !valueCheckers.equals(orderedValueCheckersSource)) {
+            List<ValueChecker<T>> ordered = new ArrayList<>(valueCheckers);
+            ordered.sort(Comparator.comparingInt(ValueChecker::getCost));
+            orderedValueCheckersSource = new ArrayList<>(valueCheckers);
+            orderedValueCheckers = ordered;
+        }
+        return orderedValueCheckers;
+    }
+
     /**
      * Reads a value of type T.
      * It repeatedly prompts the users to enter the value, until they provide a valid input string.
@@ -400,6 +555,8 @@ public abstract class InputReader<T, B extends InputReader<T, B>> {
     public T read(List<String> prompt) {
         valueListMode = false;
         checkConfiguration();
+        T answer = getAnswer(this::parseAnswer);
+        if(answer != null) return answer;
         return executeWithTerminal(textTerminal -> {
             while(true) {
                 String sVal = readWithPrompt(textTerminal, prompt);
@@ -420,6 +577,16 @@ public abstract class InputReader<T, B extends InputReader<T, B>> {
     public List<T> readList(List<String> prompt) {
         valueListMode = true;
         checkConfiguration();
+        List<T> answer = getAnswer(this::parseListAnswer);
+        if(answer != null) return answer;
+        return readListFromTerminal(prompt);
+    }
+
+    /**
+     * Reads a list of values from the terminal, without looking up an answer.
+     * The value list mode must have been set and the configuration must have been checked before calling this method.
+     */
+    List<T> readListFromTerminal(List<String> prompt) {
         return executeWithTerminal(textTerminal -> {
             mainLoop:
             while(true) {
@@ -452,12 +619,77 @@ public abstract class InputReader<T, B extends InputReader<T, B>> {
         });
     }
 
+    /**
+     * Looks up the answer for the item of this reader in the {@link #answerSource}.
+     * @return the value parsed from the answer, or null if the value should be read from the terminal.
+     * @throws AnswerException if the answer source is strict and the answer is missing or invalid.
+     */
+    <V> V getAnswer(Function<String, ParseResult<V>> parser) {
+        if(answerSource == null) return null;
+        String answer = (itemName == null) ? null : answerSource.getAnswer(itemName);
+        if(answer == null) {
+            if(answerSource.isStrict()) {
+                String item = (itemName == null) ? "an input reader without item name" : ("'" + itemName + "'");
+                throw new AnswerException("No answer available for " + item + ".", itemName, null, null);
+            }
+            logger.debug("No answer available for '{}'. Reading from the terminal.", itemName);
+            return null;
+        }
+        ParseResult<V> result = parser.apply(answer);
+        if(result.isValid()) return result.getValue();
+        List<String> errors = result.getErrorMessages();
+        if(answerSource.isStrict()) {
+            throw new AnswerException("Invalid answer for '" + itemName + "': " + errors, itemName, answer, errors);
+        }
+        logger.warn("Invalid answer for '{}': {}. Reading from the terminal.", itemName, errors);
+        return null;
+    }
+
+    /**
+     * Parses an answer provided by the {@link #answerSource}.
+     * Unlike the input typed by the user, the answer is the value itself even if the possible values are numbered.
+     */
+    private ParseResult<T> parseAnswer(String answer) {
+        String sVal = inputTrimming ? answer.trim() : answer;
+        if(sVal.isEmpty() && defaultValue != null) return new ParseResult<>(defaultValue);
+        return parseValue(sVal);
+    }
+
+    /**
+     * Parses an answer consisting of comma-separated values and runs the value list checkers.
+     */
+    ParseResult<List<T>> parseListAnswer(String answer) {
+        String[] sValues = answer.split(",");
+        if(inputTrimming) {
+            for(int i=0; i<sValues.length; i++) sValues[i] = sValues[i].trim();
+        }
+        if(sValues.length == 1 && sValues[0].isEmpty()) sValues = new String[0];
+        if(sValues.length == 0 && defaultValue != null) return new ParseResult<>(Collections.singletonList(defaultValue));
+        List<T> values = new ArrayList<>();
+        for(String sVal : sValues) {
+            ParseResult<T> result = parseValue(sVal);
+            if(!result.isValid()) return new ParseResult<>(null, result.getErrorMessages());
+            values.add(result.getValue());
+        }
+        List<String> allErrors = new ArrayList<>();
+        for(ValueChecker<List<T>> checker : valueListCheckers) {
+            List<String> errors = checker.getErrorMessages(values, itemName);
+            if(errors != null) allErrors.addAll(errors);
+        }
+        if(!allErrors.isEmpty()) {
+            allErrors.add(0, getDefaultErrorMessage(null));
+            return new ParseResult<>(null, allErrors);
+        }
+        return new ParseResult<>(values);
+    }
+
     protected String readWithPrompt(TextTerminal<?> textTerminal, List<String> prompt) {
         printPrompt(prompt, textTerminal);
+        InputRules rules = (clientValidation && textTerminal.isInputRulesSupported()) ? createInputRules() : null;
         while(true) {
             String sInput = null;
             try {
-                sInput = textTerminal.read(inputMasking);
+                sInput = textTerminal.read(inputMasking, rules);
             } catch (ReadInterruptionException e) {
                 ReadInterruptionData data = e.getReadInterruptionData();
                 logger.debug("ReadInterruptionException with data: " + data);
@@ -485,54 +717,136 @@ public abstract class InputReader<T, B extends InputReader<T, B>> {
     }
 
     private T getValueFromStringOrIndex(String sVal, TextTerminal<?> textTerminal) {
-        if(possibleValues == null || !numberedPossibleValues) return getValueFromString(sVal, textTerminal);
-        else return getValueFromIndex(sVal, textTerminal);
+        ParseResult<T> result = isIndexInput() ? parseIndex(sVal) : parseValue(sVal);
+        if(result.isValid()) return result.getValue();
+        List<String> messages = result.getErrorMessages();
+        textTerminal.executeWithPropertiesPrefix(PROPS_PREFIX_ERROR_MESSAGE, t -> t.println(messages));
+        textTerminal.println();
+        return null;
     }
 
-    private T getValueFromString(String sVal, TextTerminal<?> textTerminal) {
+    /**
+     * Parses and checks a value, which must also be one of the possible values, if configured.
+     */
+    private ParseResult<T> parseValue(String sVal) {
         ParseResult<T> result = parseAndCheck(sVal);
-        List<String> errMessages = result.getErrorMessages();
-        if(errMessages == null) {
+        if(result.isValid()) {
             Optional<T> value = getPossibleValue(result.getValue());
-            if(value.isPresent()) return value.get();
-            textTerminal.executeWithPropertiesPrefix(PROPS_PREFIX_ERROR_MESSAGE, t -> {
-                t.print(getDefaultErrorMessage(sVal));
-                if(inlinePossibleValues) {
-                    String options = possibleValues.stream()
-                            .map(val -> "'" + valueFormatter.apply(val) + "'")
-                            .collect(Collectors.joining(", "));
-                    t.println(" Please enter one of: " + options + ".");
-                } else {
-                    t.println(" Please enter one of the displayed values.");
-                }
-            });
-            textTerminal.println();
-        } else {
-            textTerminal.executeWithPropertiesPrefix(PROPS_PREFIX_ERROR_MESSAGE, t -> t.println(errMessages));
-            textTerminal.println();
+            if(value.isPresent()) return new ParseResult<>(value.get());
+            return new ParseResult<>(null, () -> getPossibleValuesErrorMessages(sVal));
         }
-        return null;
+        List<String> errMessages = result.getErrorMessages();
+        return new ParseResult<>(null, (errMessages != null) ? errMessages : getDefaultErrorMessages(sVal));
     }
 
-    private T getValueFromIndex(String sVal, TextTerminal<?> textTerminal) {
+    /**
+     * Parses the index of one of the possible values, starting with 1.
+     */
+    private ParseResult<T> parseIndex(String sVal) {
         try {
             int optIndex = Integer.parseInt(sVal);
             if(optIndex > 0 && optIndex <= possibleValues.size()) {
-                return possibleValues.get(optIndex - 1);
+                return new ParseResult<>(possibleValues.get(optIndex - 1));
             }
         } catch (NumberFormatException e) {
-            // Continue the execution. The next statement will print the error message.
+            // Continue the execution. The next statement will provide the error messages.
         }
-        textTerminal.executeWithPropertiesPrefix(PROPS_PREFIX_ERROR_MESSAGE, t -> {
-            if(invalidIndexErrorMessagesProvider != null) {
-                textTerminal.println(invalidIndexErrorMessagesProvider.getErrorMessages(sVal, itemName, 1, possibleValues.size()));
-            } else {
-                textTerminal.print(getDefaultErrorMessage(sVal));
-                textTerminal.println(" Enter a value between 1 and " + possibleValues.size() + ".");
+        return new ParseResult<>(null, () -> getInvalidIndexErrorMessages(sVal));
+    }
+
+    /**
+     * Creates the description of a form field that reads a value with this reader.
+     * If possible values are configured, they are offered as options and the field input is the index of the chosen option.
+     */
+    Form.FieldInput createFormFieldInput(List<String> prompt, TextTerminal<?> textTerminal) {
+        valueListMode = false;
+        checkConfiguration();
+        String label = (prompt == null) ? "" : String.join(" ", prompt);
+        if(promptAdjustments && shouldappendColon(label)) label += ":";
+        List<String> options = null;
+        String value = "";
+        String placeholder = null;
+        InputRules rules = null;
+        if(possibleValues != null) {
+            options = possibleValues.stream().map(valueFormatter).collect(Collectors.toList());
+            if(defaultValue != null) {
+                for(int i = 0; i < possibleValues.size(); i++) {
+                    if(equalsFunc.apply(defaultValue, possibleValues.get(i))) {
+                        value = String.valueOf(i + 1);
+                        break;
+                    }
+                }
             }
-        });
-        textTerminal.println();
-        return null;
+        } else {
+            if(defaultValue != null) placeholder = valueFormatter.apply(defaultValue);
+            if(clientValidation && textTerminal.isInputRulesSupported()) rules = createInputRules();
+        }
+        return new Form.FieldInput(label, inputMasking, rules, options, placeholder, value);
+    }
+
+    /**
+     * Parses the input of a form field created by {@link #createFormFieldInput(List, TextTerminal)}, without printing error messages.
+     */
+    ParseResult<T> parseFormInput(String sInput) {
+        valueListMode = false;
+        String sVal = (sInput == null) ? "" : sInput;
+        if(inputTrimming) sVal = sVal.trim();
+        if(sVal.isEmpty() && defaultValue != null) return new ParseResult<>(defaultValue);
+        return (possibleValues != null) ? parseIndex(sVal) : parseValue(sVal);
+    }
+
+    /** Returns the error messages for a value that is not among the possible values. */
+    protected List<String> getPossibleValuesErrorMessages(String sVal) {
+        String hint;
+        if(inlinePossibleValues) {
+            String options = possibleValues.stream()
+                    .map(val -> "'" + valueFormatter.apply(val) + "'")
+                    .collect(Collectors.joining(", "));
+            hint = " Please enter one of: " + options + ".";
+        } else {
+            hint = " Please enter one of the displayed values.";
+        }
+        return Collections.singletonList(getDefaultErrorMessage(sVal) + hint);
+    }
+
+    /** Returns the error messages for an invalid index of a numbered possible value. */
+    protected List<String> getInvalidIndexErrorMessages(String sVal) {
+        if(invalidIndexErrorMessagesProvider != null) {
+            return invalidIndexErrorMessagesProvider.getErrorMessages(sVal, itemName, 1, possibleValues.size());
+        }
+        return Collections.singletonList(getDefaultErrorMessage(sVal) + " Enter a value between 1 and " + possibleValues.size() + ".");
+    }
+
+    /**
+     * @return true, if the user chooses the value by entering the index of a numbered possible value.
+     */
+    protected boolean isIndexInput() {
+        return possibleValues != null && numberedPossibleValues;
+    }
+
+    /**
+     * @return true, if two values are compared using the default {@link Objects#equals(Object, Object)}.
+     */
+    protected boolean hasDefaultEqualsFunc() {
+        return !customEqualsFunc;
+    }
+
+    /**
+     * Creates the rules passed to {@link TextTerminal#read(boolean, InputRules)}.
+     * This base implementation configures the list mode, the input trimming, whether an empty input is accepted
+     * and, for numbered possible values, the range of valid indexes.
+     * Subclasses add the rules corresponding to their own constraints, unless {@link #isIndexInput()} returns true.
+     * The error messages of the rules are built for an empty input string.
+     */
+    protected InputRules createInputRules() {
+        InputRules rules = new InputRules()
+                .withValueList(valueListMode)
+                .withTrimming(inputTrimming)
+                .withOptional(defaultValue != null);
+        if(isIndexInput()) {
+            rules.withIndexCount(possibleValues.size(), getInvalidIndexErrorMessages(""));
+        }
+        return rules;
     }
 
     protected boolean isPossibleValue(T val) {
@@ -630,6 +944,70 @@ public abstract class InputReader<T, B extends InputReader<T, B>> {
         return "()[]{}".indexOf(lastChar) > 0 || Character.isJavaIdentifierPart(lastChar);
     }
 
+    /**
+     * @return a value checker that delegates to the checker passed as argument, but reports the given cost.
+     */
+    public static <T> ValueChecker<T> checkerWithCost(ValueChecker<T> checker, int cost) {
+        return new ValueChecker<T>() {
+            @Override
+            public List<String> getErrorMessages(T val, String itemName) {
+                return checker.getErrorMessages(val, itemName);
+            }
+
+            @Override
+            public int getCost() {
+                return cost;
+            }
+        };
+    }
+
+    /**
+     * @return a value checker that delegates to the checker passed as argument and
+     * remembers its results for the <code>maxEntries</code> most recently checked values.
+     */
+    public static <T> ValueChecker<T> memoizedChecker(ValueChecker<T> checker, int maxEntries) {
+        return new MemoizedValueChecker<>(checker, maxEntries);
+    }
+
+    private static class MemoizedValueChecker<T> implements ValueChecker<T> {
+        private static final List<String> NO_ERRORS = Collections.emptyList();
+
+        private final ValueChecker<T> checker;
+        private final Map<List<Object>, List<String>> cache;
+
+        MemoizedValueChecker(ValueChecker<T> checker, int maxEntries) {
+            this.checker = checker;
+            this.cache = new LinkedHashMap<List<Object>, List<String>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<List<Object>, List<String>> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+
+        @Override
+        public List<String> getErrorMessages(T val, String itemName) {
+            List<Object> key = Arrays.asList(val, itemName);
+            List<String> errors;
+            synchronized(cache) {
+                errors = cache.get(key);
+            }
+            if(errors == null) {
+                errors = checker.getErrorMessages(val, itemName);
+                if(errors == null) errors = NO_ERRORS;
+                synchronized(cache) {
+                    cache.put(key, errors);
+                }
+            }
+            return (errors == NO_ERRORS) ? null : errors;
+        }
+
+        @Override
+        public int getCost() {
+            return checker.getCost();
+        }
+    }
+
     public static <T> ValueChecker<List<T>> nonEmptyListChecker() {
         return (list, propName) -> {
             if(list == null || list.isEmpty()) return Collections.singletonList("Expected at least one element.");
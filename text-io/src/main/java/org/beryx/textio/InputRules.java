@@ -0,0 +1,222 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.beryx.textio;
+
+import java.util.*;
+
+/**
+ * A declarative description of the constraints that the input of an {@link InputReader} must satisfy.
+ * <br>The rules are passed to {@link TextTerminal#read(boolean, InputRules)}, so that terminals running on a remote client
+ * can reject obviously invalid input without a round trip to the server.
+ * The rules cover only simple constraints (numeric type and range, length, pattern, possible values)
+ * and are always a relaxation of the checks performed by the {@link InputReader}, which remains authoritative.
+ * <br>For each rule, the error messages to be displayed when the rule is violated are available via {@link #getMessages()}.
+ */
+public class InputRules {
+    public static final String NUMBER_TYPE_INTEGER = "integer";
+    public static final String NUMBER_TYPE_DECIMAL = "decimal";
+
+    public static final String RULE_NUMBER = "number";
+    public static final String RULE_RANGE = "range";
+    public static final String RULE_MIN_LENGTH = "minLength";
+    public static final String RULE_MAX_LENGTH = "maxLength";
+    public static final String RULE_PATTERN = "pattern";
+    public static final String RULE_POSSIBLE_VALUES = "possibleValues";
+    public static final String RULE_INDEX = "index";
+
+    private boolean valueList;
+    private boolean trimming;
+    private boolean optional;
+    private String numberType;
+    private String groupingSeparator;
+    private String decimalSeparator;
+    private Number min;
+    private Number max;
+    private Integer minLength;
+    private Integer maxLength;
+    private String pattern;
+    private String patternFlags;
+    private List<String> possibleValues;
+    private Integer indexCount;
+    private final Map<String, List<String>> messages = new LinkedHashMap<>();
+
+    /** Configures whether the input is a comma-separated list of values, each of them subject to the rules. */
+    public InputRules withValueList(boolean valueList) {
+        this.valueList = valueList;
+        return this;
+    }
+
+    /** Configures whether the leading and trailing whitespace of the values is ignored. */
+    public InputRules withTrimming(boolean trimming) {
+        this.trimming = trimming;
+        return this;
+    }
+
+    /** Configures whether an empty input is accepted (typically, because a default value exists). */
+    public InputRules withOptional(boolean optional) {
+        this.optional = optional;
+        return this;
+    }
+
+    /**
+     * Configures the values to be numbers of the given type.
+     * @param numberType {@link #NUMBER_TYPE_INTEGER} or {@link #NUMBER_TYPE_DECIMAL}
+     * @param groupingSeparator the accepted grouping separator or 0, if grouping is not allowed.
+     * @param decimalSeparator the decimal separator.
+     */
+    public InputRules withNumberType(String numberType, char groupingSeparator, char decimalSeparator, List<String> errorMessages) {
+        this.numberType = numberType;
+        this.groupingSeparator = (groupingSeparator == 0) ? null : String.valueOf(groupingSeparator);
+        this.decimalSeparator = String.valueOf(decimalSeparator);
+        return withMessages(RULE_NUMBER, errorMessages);
+    }
+
+    /**
+     * Configures the range of the numeric values. Non-finite limits are ignored.
+     * @param min the minimum value. May be null.
+     * @param max the maximum value. May be null.
+     */
+    public InputRules withRange(Number min, Number max, List<String> errorMessages) {
+        this.min = isFinite(min) ? min : null;
+        this.max = isFinite(max) ? max : null;
+        return withMessages(RULE_RANGE, errorMessages);
+    }
+
+    private static boolean isFinite(Number n) {
+        if(n == null) return false;
+        if(n instanceof Double || n instanceof Float) {
+            double d = n.doubleValue();
+            return !Double.isNaN(d) && !Double.isInfinite(d);
+        }
+        return true;
+    }
+
+    public InputRules withMinLength(int minLength, List<String> errorMessages) {
+        this.minLength = minLength;
+        return withMessages(RULE_MIN_LENGTH, errorMessages);
+    }
+
+    public InputRules withMaxLength(int maxLength, List<String> errorMessages) {
+        this.maxLength = maxLength;
+        return withMessages(RULE_MAX_LENGTH, errorMessages);
+    }
+
+    /**
+     * Configures a pattern that must match the entire value.
+     * @param pattern a regular expression that has the same meaning in Java and JavaScript.
+     * @param caseInsensitive true, if the pattern should be matched ignoring the case.
+     */
+    public InputRules withPattern(String pattern, boolean caseInsensitive, List<String> errorMessages) {
+        this.pattern = pattern;
+        this.patternFlags = caseInsensitive ? "i" : "";
+        return withMessages(RULE_PATTERN, errorMessages);
+    }
+
+    /** Configures the list of strings that are exactly matched by the possible values. */
+    public InputRules withPossibleValues(List<String> possibleValues, List<String> errorMessages) {
+        this.possibleValues = new ArrayList<>(possibleValues);
+        return withMessages(RULE_POSSIBLE_VALUES, errorMessages);
+    }
+
+    /** Configures the values to be indexes between 1 and {@code indexCount}, used to choose one of the numbered possible values. */
+    public InputRules withIndexCount(int indexCount, List<String> errorMessages) {
+        this.indexCount = indexCount;
+        return withMessages(RULE_INDEX, errorMessages);
+    }
+
+    private InputRules withMessages(String rule, List<String> errorMessages) {
+        if(errorMessages != null) messages.put(rule, errorMessages);
+        return this;
+    }
+
+    public boolean isValueList() {
+        return valueList;
+    }
+
+    public boolean isTrimming() {
+        return trimming;
+    }
+
+    public boolean isOptional() {
+        return optional;
+    }
+
+    public String getNumberType() {
+        return numberType;
+    }
+
+    public String getGroupingSeparator() {
+        return groupingSeparator;
+    }
+
+    public String getDecimalSeparator() {
+        return decimalSeparator;
+    }
+
+    public Number getMin() {
+        return min;
+    }
+
+    public Number getMax() {
+        return max;
+    }
+
+    public Integer getMinLength() {
+        return minLength;
+    }
+
+    public Integer getMaxLength() {
+        return maxLength;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public String getPatternFlags() {
+        return patternFlags;
+    }
+
+    public List<String> getPossibleValues() {
+        return possibleValues;
+    }
+
+    public Integer getIndexCount() {
+        return indexCount;
+    }
+
+    /**
+     * @return the error messages to be displayed when a rule is violated, keyed by the rule name (one of the RULE_XXX constants).
+     */
+    public Map<String, List<String>> getMessages() {
+        return messages;
+    }
+
+    @Override
+    public String toString() {
+        return "valueList: " + valueList +
+                ", trimming: " + trimming +
+                ", optional: " + optional +
+                ", numberType: " + numberType +
+                ", min: " + min +
+                ", max: " + max +
+                ", minLength: " + minLength +
+                ", maxLength: " + maxLength +
+                ", pattern: " + pattern +
+                ", possibleValues: " + possibleValues +
+                ", indexCount: " + indexCount;
+    }
+}
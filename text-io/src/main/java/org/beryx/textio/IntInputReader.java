@@ -15,12 +15,18 @@
  */
 package org.beryx.textio;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.function.Supplier;
 
 /**
  * A reader for int values.
  */
-public class IntInputReader extends ComparableInputReader<Integer, IntInputReader> {
+public class IntInputReader extends NumberInputReader<Integer, IntInputReader> {
+    /** The list of checkers used to detect constraint violations for the arrays read via {@link #readIntArray(List)} */
+    protected final List<ValueChecker<int[]>> intArrayCheckers = new ArrayList<>();
+
     public IntInputReader(Supplier<TextTerminal<?>> textTerminalSupplier) {
         super(textTerminalSupplier);
     }
@@ -32,10 +38,130 @@ public class IntInputReader extends ComparableInputReader<Integer, IntInputReade
 
     @Override
     protected ParseResult<Integer> parse(String s) {
-        try {
-            return new ParseResult<>(Integer.parseInt(s));
-        } catch (NumberFormatException e) {
-            return new ParseResult<>(null, getErrorMessages(s));
+        NumberParser parser = getNumberParser();
+        if(!parser.parseLong(s, Integer.MIN_VALUE, Integer.MAX_VALUE)) return getErrorResult(s);
+        return new ParseResult<>((int)parser.getLongValue());
+    }
+
+    /** Adds the checker passed as argument, used for the arrays read via {@link #readIntArray(List)}. May be called multiple times. */
+    public IntInputReader withIntArrayChecker(ValueChecker<int[]> arrayChecker) {
+        this.intArrayCheckers.add(arrayChecker);
+        return this;
+    }
+
+    public int[] readIntArray(String... prompt) {
+        return readIntArray(Arrays.asList(prompt));
+    }
+
+    /**
+     * Reads a comma-separated list of values, like {@link #readList(List)}, but returns them as an array of primitives.
+     * The values are parsed and range-checked without being boxed.
+     * @param prompt the list of messages to be displayed for prompting the user to enter the values
+     * @return the values parsed from the input string
+     */
+    public int[] readIntArray(List<String> prompt) {
+        return readArray(prompt, new IntValues(), intArrayCheckers);
+    }
+
+    /** Returns a checker that only accepts arrays sorted in ascending order. */
+    public static ValueChecker<int[]> sortedArrayChecker() {
+        return sortedArrayChecker(IntValues::new);
+    }
+
+    /** Returns a checker that only accepts arrays without duplicate values. */
+    public static ValueChecker<int[]> noDuplicatesArrayChecker() {
+        return noDuplicatesArrayChecker(IntValues::new);
+    }
+
+    /** Returns a checker that only accepts arrays whose sum of values is between minSum and maxSum. */
+    public static ValueChecker<int[]> sumRangeArrayChecker(long minSum, long maxSum) {
+        return sumRangeArrayChecker(IntValues::new, minSum, maxSum);
+    }
+
+    private static class IntValues extends PrimitiveValues<Integer, int[]> {
+        private int[] data;
+        private int size;
+
+        IntValues() {
+            this.data = new int[16];
+        }
+
+        /** Wraps the given array, without copying it */
+        IntValues(int[] values) {
+            this.data = values;
+            this.size = values.length;
+        }
+
+        @Override
+        boolean parseAndAdd(NumberParser parser, CharSequence s, int start, int end) {
+            if(!parser.parseLong(s, start, end, Integer.MIN_VALUE, Integer.MAX_VALUE)) return false;
+            append((int)parser.getLongValue());
+            return true;
+        }
+
+        private void append(int value) {
+            if(size == data.length) data = Arrays.copyOf(data, 2 * size);
+            data[size++] = value;
+        }
+
+        @Override
+        boolean isLastInRange(NumberInputReader<?, ?> reader) {
+            return reader.isInRange(data[size - 1]);
+        }
+
+        @Override
+        Integer getLast() {
+            return data[size - 1];
+        }
+
+        @Override
+        void add(Integer value) {
+            append(value);
+        }
+
+        @Override
+        void clear() {
+            size = 0;
+        }
+
+        @Override
+        int[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+
+        @Override
+        List<Integer> toList() {
+            List<Integer> list = new ArrayList<>(size);
+            for(int i = 0; i < size; i++) list.add(data[i]);
+            return list;
+        }
+
+        @Override
+        int size() {
+            return size;
+        }
+
+        @Override
+        boolean isGreater(int i, int j) {
+            return data[i] > data[j];
+        }
+
+        @Override
+        boolean isSame(int i, int j) {
+            return data[i] == data[j];
+        }
+
+        @Override
+        void sort() {
+            data = Arrays.copyOf(data, size);
+            Arrays.sort(data);
+        }
+
+        @Override
+        boolean isSumInRange(Number minSum, Number maxSum) {
+            long sum = 0;
+            for(int i = 0; i < size; i++) sum += data[i];
+            return sum >= minSum.longValue() && sum <= maxSum.longValue();
         }
     }
 }
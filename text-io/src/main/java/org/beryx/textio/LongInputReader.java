@@ -15,12 +15,18 @@
  */
 package org.beryx.textio;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.function.Supplier;
 
 /**
  * A reader for long values.
  */
-public class LongInputReader extends ComparableInputReader<Long, LongInputReader> {
+public class LongInputReader extends NumberInputReader<Long, LongInputReader> {
+    /** The list of checkers used to detect constraint violations for the arrays read via {@link #readLongArray(List)} */
+    protected final List<ValueChecker<long[]>> longArrayCheckers = new ArrayList<>();
+
     public LongInputReader(Supplier<TextTerminal<?>> textTerminalSupplier) {
         super(textTerminalSupplier);
     }
@@ -32,10 +38,138 @@ public class LongInputReader extends ComparableInputReader<Long, LongInputReader
 
     @Override
     protected ParseResult<Long> parse(String s) {
-        try {
-            return new ParseResult<>(Long.parseLong(s));
-        } catch (NumberFormatException e) {
-            return new ParseResult<>(null, getErrorMessages(s));
+        NumberParser parser = getNumberParser();
+        if(!parser.parseLong(s, Long.MIN_VALUE, Long.MAX_VALUE)) return getErrorResult(s);
+        return new ParseResult<>(parser.getLongValue());
+    }
+
+    /** Adds the checker passed as argument, used for the arrays read via {@link #readLongArray(List)}. May be called multiple times. */
+    public LongInputReader withLongArrayChecker(ValueChecker<long[]> arrayChecker) {
+        this.longArrayCheckers.add(arrayChecker);
+        return this;
+    }
+
+    public long[] readLongArray(String... prompt) {
+        return readLongArray(Arrays.asList(prompt));
+    }
+
+    /**
+     * Reads a comma-separated list of values, like {@link #readList(List)}, but returns them as an array of primitives.
+     * The values are parsed and range-checked without being boxed.
+     * @param prompt the list of messages to be displayed for prompting the user to enter the values
+     * @return the values parsed from the input string
+     */
+    public long[] readLongArray(List<String> prompt) {
+        return readArray(prompt, new LongValues(), longArrayCheckers);
+    }
+
+    /** Returns a checker that only accepts arrays sorted in ascending order. */
+    public static ValueChecker<long[]> sortedArrayChecker() {
+        return sortedArrayChecker(LongValues::new);
+    }
+
+    /** Returns a checker that only accepts arrays without duplicate values. */
+    public static ValueChecker<long[]> noDuplicatesArrayChecker() {
+        return noDuplicatesArrayChecker(LongValues::new);
+    }
+
+    /** Returns a checker that only accepts arrays whose sum of values is between minSum and maxSum. */
+    public static ValueChecker<long[]> sumRangeArrayChecker(long minSum, long maxSum) {
+        return sumRangeArrayChecker(LongValues::new, minSum, maxSum);
+    }
+
+    private static class LongValues extends PrimitiveValues<Long, long[]> {
+        private long[] data;
+        private int size;
+
+        LongValues() {
+            this.data = new long[16];
+        }
+
+        /** Wraps the given array, without copying it */
+        LongValues(long[] values) {
+            this.data = values;
+            this.size = values.length;
+        }
+
+        @Override
+        boolean parseAndAdd(NumberParser parser, CharSequence s, int start, int end) {
+            if(!parser.parseLong(s, start, end, Long.MIN_VALUE, Long.MAX_VALUE)) return false;
+            append(parser.getLongValue());
+            return true;
+        }
+
+        private void append(long value) {
+            if(size == data.length) data = Arrays.copyOf(data, 2 * size);
+            data[size++] = value;
+        }
+
+        @Override
+        boolean isLastInRange(NumberInputReader<?, ?> reader) {
+            return reader.isInRange(data[size - 1]);
+        }
+
+        @Override
+        Long getLast() {
+            return data[size - 1];
+        }
+
+        @Override
+        void add(Long value) {
+            append(value);
+        }
+
+        @Override
+        void clear() {
+            size = 0;
+        }
+
+        @Override
+        long[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+
+        @Override
+        List<Long> toList() {
+            List<Long> list = new ArrayList<>(size);
+            for(int i = 0; i < size; i++) list.add(data[i]);
+            return list;
+        }
+
+        @Override
+        int size() {
+            return size;
+        }
+
+        @Override
+        boolean isGreater(int i, int j) {
+            return data[i] > data[j];
+        }
+
+        @Override
+        boolean isSame(int i, int j) {
+            return data[i] == data[j];
+        }
+
+        @Override
+        void sort() {
+            data = Arrays.copyOf(data, size);
+            Arrays.sort(data);
+        }
+
+        @Override
+        boolean isSumInRange(Number minSum, Number maxSum) {
+            // The true sum is overflows * 2^64 + sum. Intermediate overflows may be compensated by the subsequent values.
+            long sum = 0;
+            long overflows = 0;
+            for(int i = 0; i < size; i++) {
+                long val = data[i];
+                long newSum = sum + val;
+                if(((sum ^ newSum) & (val ^ newSum)) < 0) overflows += (val > 0) ? 1 : -1;
+                sum = newSum;
+            }
+            if(overflows != 0) return false;
+            return sum >= minSum.longValue() && sum <= maxSum.longValue();
         }
     }
 }
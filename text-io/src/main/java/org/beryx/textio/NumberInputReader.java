@@ -0,0 +1,360 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.beryx.textio;
+
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A reader for numeric values.
+ * The values are parsed without throwing exceptions for invalid input.
+ * Optionally, grouping separators (such as in 1,000,000) may be accepted.
+ * <br>When reading lists or arrays, the comma separates the values. Therefore, a comma grouping separator is ignored
+ * in this case (the input 1,234 yields the values 1 and 234), while a comma decimal separator is rejected by {@link #checkConfiguration()}.
+ */
+public abstract class NumberInputReader<T extends Number & Comparable<T>, B extends NumberInputReader<T, B>> extends ComparableInputReader<T, B> {
+    protected char groupingSeparator = NumberParser.NO_SEPARATOR;
+    protected char decimalSeparator = '.';
+
+    private NumberParser numberParser;
+    private NumberParser valueListNumberParser;
+
+    /**
+     * A growable buffer of primitive values, used for reading arrays without boxing their elements.
+     * @param <T> the boxed type of the values
+     * @param <A> the primitive array type
+     */
+    abstract static class PrimitiveValues<T, A> {
+        /**
+         * Parses the value found in {@code s} between {@code start} (inclusive) and {@code end} (exclusive) and appends it.
+         * @return false, if the value cannot be parsed.
+         */
+        abstract boolean parseAndAdd(NumberParser parser, CharSequence s, int start, int end);
+
+        /** @return true, if the last added value lies in the range configured for the given reader */
+        abstract boolean isLastInRange(NumberInputReader<?, ?> reader);
+
+        /** @return the last added value, boxed */
+        abstract T getLast();
+
+        abstract void add(T value);
+
+        abstract void clear();
+
+        abstract A toArray();
+
+        /** @return the values as a list of boxed values */
+        abstract List<T> toList();
+
+        abstract int size();
+
+        /** @return true, if the value at position {@code i} is greater than the value at position {@code j} */
+        abstract boolean isGreater(int i, int j);
+
+        /** @return true, if the values at positions {@code i} and {@code j} are equal */
+        abstract boolean isSame(int i, int j);
+
+        /** Sorts the values in ascending order. An array wrapped by this buffer is not modified. */
+        abstract void sort();
+
+        /** @return true, if the sum of the values is between minSum and maxSum, computed without overflow for integral values */
+        abstract boolean isSumInRange(Number minSum, Number maxSum);
+    }
+
+    public NumberInputReader(Supplier<TextTerminal<?>> textTerminalSupplier) {
+        super(textTerminalSupplier);
+    }
+
+    /**
+     * Configures the grouping separator accepted in the integer part of the values.
+     * Groups following a grouping separator must have exactly 3 digits.
+     * By default, grouping separators are not accepted.
+     */
+    @SuppressWarnings("unchecked")
+    public B withGroupingSeparator(char groupingSeparator) {
+        this.groupingSeparator = groupingSeparator;
+        this.numberParser = null;
+        this.valueListNumberParser = null;
+        return (B)this;
+    }
+
+    /**
+     * Configures the decimal separator of floating-point values. Default: '.'
+     */
+    @SuppressWarnings("unchecked")
+    public B withDecimalSeparator(char decimalSeparator) {
+        this.decimalSeparator = decimalSeparator;
+        this.numberParser = null;
+        this.valueListNumberParser = null;
+        return (B)this;
+    }
+
+    /**
+     * Configures the grouping and decimal separators according to the given locale.
+     * <br>If the grouping separator of the locale is a comma (as in {@link Locale#US}), it is not accepted when reading lists or arrays.
+     * If the decimal separator of the locale is a comma (as in {@link Locale#GERMANY}), lists and arrays cannot be read.
+     */
+    public B withLocale(Locale locale) {
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(locale);
+        withDecimalSeparator(symbols.getDecimalSeparator());
+        return withGroupingSeparator(symbols.getGroupingSeparator());
+    }
+
+    /**
+     * @return the grouping separator accepted in the current mode.
+     * In {@link #isValueListMode() value list mode}, a comma is not accepted as grouping separator, because it separates the values.
+     */
+    char getEffectiveGroupingSeparator() {
+        return (isValueListMode() && groupingSeparator == ',') ? NumberParser.NO_SEPARATOR : groupingSeparator;
+    }
+
+    /** @return the parser corresponding to the current configuration of the separators and to the current mode. */
+    NumberParser getNumberParser() {
+        if(isValueListMode()) {
+            if(valueListNumberParser == null) {
+                valueListNumberParser = new NumberParser(getEffectiveGroupingSeparator(), decimalSeparator);
+            }
+            return valueListNumberParser;
+        }
+        if(numberParser == null) {
+            numberParser = new NumberParser(groupingSeparator, decimalSeparator);
+        }
+        return numberParser;
+    }
+
+    /**
+     * @return the numeric type of the values, as defined in {@link InputRules}.
+     * This default implementation returns {@link InputRules#NUMBER_TYPE_INTEGER}.
+     */
+    protected String getInputRulesNumberType() {
+        return InputRules.NUMBER_TYPE_INTEGER;
+    }
+
+    /**
+     * @return true, if the range of the values can be checked by clients using double-precision arithmetic.
+     * This default implementation returns true.
+     */
+    protected boolean isInputRulesRangeSupported() {
+        return true;
+    }
+
+    /** In addition to the rules created by {@link InputReader#createInputRules()}, it configures the numeric type and the range. */
+    @Override
+    protected InputRules createInputRules() {
+        InputRules rules = super.createInputRules();
+        if(!isIndexInput()) {
+            rules.withNumberType(getInputRulesNumberType(), getEffectiveGroupingSeparator(), decimalSeparator, getErrorMessages(""));
+            if((minVal != null || maxVal != null) && isInputRulesRangeSupported()) {
+                rules.withRange(minVal, maxVal, Arrays.asList(getDefaultErrorMessage(""), getStandardMinMaxErrorMessage()));
+            }
+        }
+        return rules;
+    }
+
+    /**
+     * In addition to the checks performed by {@link ComparableInputReader#checkConfiguration()}, it checks if the separators are distinct
+     * and, in {@link #isValueListMode() value list mode}, if the decimal separator is not a comma.
+     */
+    @Override
+    public void checkConfiguration() throws IllegalArgumentException {
+        super.checkConfiguration();
+        if(groupingSeparator == decimalSeparator) throw new IllegalArgumentException("groupingSeparator and decimalSeparator are both '" + decimalSeparator + "'");
+        if(isValueListMode() && decimalSeparator == ',') throw new IllegalArgumentException("decimalSeparator ',' cannot be used when reading comma-separated values");
+    }
+
+    /**
+     * Reads a comma-separated list of values into a primitive array.
+     * It behaves like {@link #readList(List)}, but the values are parsed and range-checked without being boxed.
+     * Only the configured {@link #valueCheckers} other than the range check and the {@link #valueListCheckers} require boxed values.
+     * <br>If an {@link AnswerSource} is configured, the answer is parsed as comma-separated values and checked by the array checkers.
+     * @param prompt the list of messages to be displayed for prompting the user to enter the values
+     * @param values the buffer used to accumulate the values
+     * @param arrayCheckers the checkers used to detect constraint violations for the resulting array
+     */
+    <A> A readArray(List<String> prompt, PrimitiveValues<T, A> values, List<ValueChecker<A>> arrayCheckers) {
+        setValueListMode(true);
+        checkConfiguration();
+        A answer = getAnswer(sAnswer -> parseArrayAnswer(sAnswer, values, arrayCheckers));
+        if(answer != null) return answer;
+        if(possibleValues != null) {
+            while(true) {
+                values.clear();
+                readListFromTerminal(prompt).forEach(values::add);
+                A result = values.toArray();
+                List<String> errors = getArrayErrorMessages(result, values, arrayCheckers);
+                if(errors == null) return result;
+                executeWithTerminal(textTerminal -> {
+                    textTerminal.executeWithPropertiesPrefix(PROPS_PREFIX_ERROR_MESSAGE, t -> t.println(errors));
+                    textTerminal.println();
+                    return null;
+                });
+            }
+        }
+        boolean rangeCheckOnly = (valueCheckers.size() == 1) && (valueCheckers.get(0) == minMaxChecker);
+        return executeWithTerminal(textTerminal -> {
+            while(true) {
+                String sInput = readWithPrompt(textTerminal, prompt);
+                if(!parseArray(sInput, values, rangeCheckOnly, textTerminal)) continue;
+                A result = values.toArray();
+                List<String> errors = getArrayErrorMessages(result, values, arrayCheckers);
+                if(errors == null) return result;
+                textTerminal.executeWithPropertiesPrefix(PROPS_PREFIX_ERROR_MESSAGE, t -> t.println(errors));
+                textTerminal.println();
+            }
+        });
+    }
+
+    /**
+     * Parses an answer consisting of comma-separated values and runs the value list checkers and the array checkers.
+     */
+    private <A> ParseResult<A> parseArrayAnswer(String answer, PrimitiveValues<T, A> values, List<ValueChecker<A>> arrayCheckers) {
+        ParseResult<List<T>> listResult = parseListAnswer(answer);
+        if(!listResult.isValid()) return new ParseResult<>(null, listResult.getErrorMessages());
+        values.clear();
+        listResult.getValue().forEach(values::add);
+        A result = values.toArray();
+        List<String> errors = getArrayErrorMessages(result, values, arrayCheckers);
+        return (errors == null) ? new ParseResult<>(result) : new ParseResult<>(null, errors);
+    }
+
+    /**
+     * Parses the comma-separated values in the same way as {@link #readList(List)}, but without splitting the input string.
+     * @return false, if an invalid value has been found. In this case, the error messages have already been displayed.
+     */
+    private <A> boolean parseArray(String sInput, PrimitiveValues<T, A> values, boolean rangeCheckOnly, TextTerminal<?> textTerminal) {
+        values.clear();
+        String input = (sInput == null) ? "" : sInput;
+        int len = input.length();
+        // Trailing empty values are ignored, as in String.split()
+        while(len > 0 && input.charAt(len - 1) == ',') len--;
+        int firstComma = input.indexOf(',');
+        if((firstComma < 0 || firstComma >= len) && getValueStart(input, 0, len) == getValueEnd(input, 0, len)) {
+            if(defaultValue != null) values.add(defaultValue);
+            return true;
+        }
+        NumberParser parser = getNumberParser();
+        int start = 0;
+        while(true) {
+            int end = input.indexOf(',', start);
+            if(end < 0 || end > len) end = len;
+            int valStart = getValueStart(input, start, end);
+            int valEnd = getValueEnd(input, valStart, end);
+            List<String> errors = null;
+            if(!values.parseAndAdd(parser, input, valStart, valEnd)) {
+                errors = getErrorMessages(input.substring(valStart, valEnd));
+            } else if(rangeCheckOnly ? !values.isLastInRange(this) : !valueCheckers.isEmpty()) {
+                errors = getValueErrorMessages(values.getLast(), input.substring(valStart, valEnd));
+            }
+            if(errors != null) {
+                List<String> errMessages = errors;
+                textTerminal.executeWithPropertiesPrefix(PROPS_PREFIX_ERROR_MESSAGE, t -> t.println(errMessages));
+                textTerminal.println();
+                return false;
+            }
+            if(end >= len) return true;
+            start = end + 1;
+        }
+    }
+
+    private int getValueStart(String s, int start, int end) {
+        if(inputTrimming) {
+            while(start < end && s.charAt(start) <= ' ') start++;
+        }
+        return start;
+    }
+
+    private int getValueEnd(String s, int start, int end) {
+        if(inputTrimming) {
+            while(end > start && s.charAt(end - 1) <= ' ') end--;
+        }
+        return end;
+    }
+
+    private <A> List<String> getArrayErrorMessages(A result, PrimitiveValues<T, A> values, List<ValueChecker<A>> arrayCheckers) {
+        List<String> allErrors = new ArrayList<>();
+        for(ValueChecker<A> checker : arrayCheckers) {
+            List<String> errors = checker.getErrorMessages(result, itemName);
+            if(errors != null) allErrors.addAll(errors);
+        }
+        if(!valueListCheckers.isEmpty()) {
+            List<T> list = Collections.unmodifiableList(values.toList());
+            for(ValueChecker<List<T>> checker : valueListCheckers) {
+                List<String> errors = checker.getErrorMessages(list, itemName);
+                if(errors != null) allErrors.addAll(errors);
+            }
+        }
+        if(allErrors.isEmpty()) return null;
+        allErrors.add(0, getDefaultErrorMessage(null));
+        return allErrors;
+    }
+
+    /**
+     * Returns a checker that only accepts arrays sorted in ascending order.
+     * @param wrapper creates a {@link PrimitiveValues} buffer backed by the array to be checked.
+     */
+    static <A> ValueChecker<A> sortedArrayChecker(Function<A, PrimitiveValues<?, A>> wrapper) {
+        return (array, itemName) -> {
+            PrimitiveValues<?, A> values = wrapper.apply(array);
+            for(int i = 1; i < values.size(); i++) {
+                if(values.isGreater(i - 1, i)) return Collections.singletonList("The values must be in ascending order.");
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Returns a checker that only accepts arrays without duplicate values.
+     * @param wrapper creates a {@link PrimitiveValues} buffer backed by the array to be checked.
+     */
+    static <A> ValueChecker<A> noDuplicatesArrayChecker(Function<A, PrimitiveValues<?, A>> wrapper) {
+        return (array, itemName) -> {
+            PrimitiveValues<?, A> values = wrapper.apply(array);
+            if(values.size() < 2) return null;
+            values.sort();
+            for(int i = 1; i < values.size(); i++) {
+                if(values.isSame(i - 1, i)) return Collections.singletonList("Duplicate values are not allowed.");
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Returns a checker that only accepts arrays whose sum of values is between minSum and maxSum.
+     * @param wrapper creates a {@link PrimitiveValues} buffer backed by the array to be checked.
+     */
+    static <A> ValueChecker<A> sumRangeArrayChecker(Function<A, PrimitiveValues<?, A>> wrapper, Number minSum, Number maxSum) {
+        return (array, itemName) -> {
+            if(wrapper.apply(array).isSumInRange(minSum, maxSum)) return null;
+            return Collections.singletonList("The sum of the values must be between " + minSum + " and " + maxSum + ".");
+        };
+    }
+
+    /** Returns true if minVal &lt;= val &lt;= maxVal, without boxing the value */
+    public boolean isInRange(long val) {
+        return (minVal == null || minVal.longValue() <= val) && (maxVal == null || maxVal.longValue() >= val);
+    }
+
+    /** Returns true if minVal &lt;= val &lt;= maxVal, without boxing the value */
+    public boolean isInRange(double val) {
+        return (minVal == null || minVal.doubleValue() <= val) && (maxVal == null || maxVal.doubleValue() >= val);
+    }
+}
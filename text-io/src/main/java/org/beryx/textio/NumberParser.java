@@ -0,0 +1,239 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.beryx.textio;
+
+/**
+ * Parses numbers directly from a {@link CharSequence}, without throwing exceptions for invalid input.
+ * <br>Integer values are parsed without allocating objects.
+ * Floating-point values are validated before being passed to {@link Double#parseDouble(String)} or {@link Float#parseFloat(String)},
+ * so that these methods are only called with valid input.
+ * <br>Optionally, a grouping separator may be used in the integer part of the numbers.
+ * In this case, all groups except the first one must have exactly 3 digits.
+ * If the grouping separator is a space character (as in many European locales), a regular space is also accepted.
+ * <br>A NumberParser stores the result of the last successful parsing operation. Therefore, it is not thread-safe.
+ */
+final class NumberParser {
+    static final char NO_SEPARATOR = 0;
+
+    private final char groupingSeparator;
+    private final char decimalSeparator;
+    private final boolean spaceGrouping;
+    private final StringBuilder buffer = new StringBuilder();
+
+    private long longValue;
+    private double doubleValue;
+    private float floatValue;
+
+    /**
+     * @param groupingSeparator the grouping separator or {@link #NO_SEPARATOR}, if grouping is not allowed.
+     * @param decimalSeparator the decimal separator.
+     */
+    NumberParser(char groupingSeparator, char decimalSeparator) {
+        this.groupingSeparator = groupingSeparator;
+        this.decimalSeparator = decimalSeparator;
+        this.spaceGrouping = (groupingSeparator != NO_SEPARATOR) && Character.isSpaceChar(groupingSeparator);
+    }
+
+    /** @return the value obtained by the last successful call of {@link #parseLong(CharSequence, long, long)} */
+    long getLongValue() {
+        return longValue;
+    }
+
+    /** @return the value obtained by the last successful call of {@link #parseDouble(CharSequence)} */
+    double getDoubleValue() {
+        return doubleValue;
+    }
+
+    /** @return the value obtained by the last successful call of {@link #parseFloat(CharSequence)} */
+    float getFloatValue() {
+        return floatValue;
+    }
+
+    private boolean isGroupingSeparator(char c) {
+        return (groupingSeparator != NO_SEPARATOR) && (c == groupingSeparator || (spaceGrouping && c == ' '));
+    }
+
+    /**
+     * Parses an integer value in the range [{@code min}, {@code max}], where {@code min <= 0 <= max}.
+     * Accepts the same digits as {@link Long#parseLong(String)}, as well as grouping separators if configured.
+     * @return true, if the character sequence represents a valid value in the given range. The value can be retrieved via {@link #getLongValue()}.
+     */
+    boolean parseLong(CharSequence s, long min, long max) {
+        return parseLong(s, 0, s.length(), min, max);
+    }
+
+    /**
+     * Same as {@link #parseLong(CharSequence, long, long)}, but only the characters between {@code start} (inclusive)
+     * and {@code end} (exclusive) are parsed.
+     */
+    boolean parseLong(CharSequence s, int start, int end, long min, long max) {
+        int len = end;
+        if(start >= len) return false;
+        int i = start;
+        boolean negative = false;
+        char first = s.charAt(start);
+        if(first == '-' || first == '+') {
+            negative = (first == '-');
+            i++;
+        }
+        // The value is accumulated negatively, as in Long.parseLong(), in order to handle Long.MIN_VALUE
+        long limit = negative ? min : -max;
+        long multMin = limit / 10;
+        long result = 0;
+        int digits = 0;
+        int groupLen = 0;
+        boolean grouped = false;
+        for(; i < len; i++) {
+            char c = s.charAt(i);
+            if(isGroupingSeparator(c)) {
+                if(groupLen == 0 || (grouped ? (groupLen != 3) : (groupLen > 3))) return false;
+                grouped = true;
+                groupLen = 0;
+                continue;
+            }
+            int digit = Character.digit(c, 10);
+            if(digit < 0) return false;
+            if(result < multMin) return false;
+            result *= 10;
+            if(result < limit + digit) return false;
+            result -= digit;
+            digits++;
+            groupLen++;
+        }
+        if(digits == 0 || (grouped && groupLen != 3)) return false;
+        longValue = negative ? result : -result;
+        return true;
+    }
+
+    /**
+     * Parses a double value.
+     * @return true, if the character sequence represents a valid double. The value can be retrieved via {@link #getDoubleValue()}.
+     */
+    boolean parseDouble(CharSequence s) {
+        return parseDouble(s, 0, s.length());
+    }
+
+    /**
+     * Same as {@link #parseDouble(CharSequence)}, but only the characters between {@code start} (inclusive)
+     * and {@code end} (exclusive) are parsed.
+     */
+    boolean parseDouble(CharSequence s, int start, int end) {
+        String normalized = normalizeDecimal(s, start, end);
+        if(normalized != null) {
+            doubleValue = Double.parseDouble(normalized);
+            return true;
+        }
+        if(!isSpecialFloatingPointCandidate(s, start, end)) return false;
+        try {
+            doubleValue = Double.parseDouble(s.subSequence(start, end).toString());
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Parses a float value.
+     * @return true, if the character sequence represents a valid float. The value can be retrieved via {@link #getFloatValue()}.
+     */
+    boolean parseFloat(CharSequence s) {
+        String normalized = normalizeDecimal(s, 0, s.length());
+        if(normalized != null) {
+            floatValue = Float.parseFloat(normalized);
+            return true;
+        }
+        if(!isSpecialFloatingPointCandidate(s, 0, s.length())) return false;
+        try {
+            floatValue = Float.parseFloat(s.toString());
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks if the character sequence represents a plain decimal number: an optional sign, digits (optionally grouped),
+     * an optional fractional part and an optional exponent.
+     * @return a string that can be safely passed to {@link Double#parseDouble(String)}, or null if the number is not a plain decimal number.
+     */
+    private String normalizeDecimal(CharSequence s, int start, int end) {
+        int len = end;
+        int i = start;
+        if(i < len && (s.charAt(i) == '-' || s.charAt(i) == '+')) i++;
+        int intDigits = 0;
+        int groupLen = 0;
+        boolean grouped = false;
+        for(; i < len; i++) {
+            char c = s.charAt(i);
+            if(c >= '0' && c <= '9') {
+                intDigits++;
+                groupLen++;
+            } else if(isGroupingSeparator(c)) {
+                if(groupLen == 0 || (grouped ? (groupLen != 3) : (groupLen > 3))) return null;
+                grouped = true;
+                groupLen = 0;
+            } else {
+                break;
+            }
+        }
+        if(grouped && groupLen != 3) return null;
+        boolean decimalPoint = false;
+        int fractionDigits = 0;
+        if(i < len && s.charAt(i) == decimalSeparator) {
+            decimalPoint = true;
+            for(i++; i < len && s.charAt(i) >= '0' && s.charAt(i) <= '9'; i++) {
+                fractionDigits++;
+            }
+        }
+        if(intDigits + fractionDigits == 0) return null;
+        if(i < len && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+            i++;
+            if(i < len && (s.charAt(i) == '-' || s.charAt(i) == '+')) i++;
+            int expDigits = 0;
+            for(; i < len && s.charAt(i) >= '0' && s.charAt(i) <= '9'; i++) {
+                expDigits++;
+            }
+            if(expDigits == 0) return null;
+        }
+        if(i != len) return null;
+        if(!grouped && (!decimalPoint || decimalSeparator == '.')) return s.subSequence(start, end).toString();
+        buffer.setLength(0);
+        for(int k = start; k < len; k++) {
+            char c = s.charAt(k);
+            if(c == decimalSeparator) {
+                buffer.append('.');
+            } else if(!isGroupingSeparator(c)) {
+                buffer.append(c);
+            }
+        }
+        return buffer.toString();
+    }
+
+    /**
+     * @return true, if the character sequence may be a floating-point value in a form accepted by {@link Double#parseDouble(String)}
+     * but not by {@link #normalizeDecimal(CharSequence, int, int)}: NaN, Infinity, hexadecimal, with a type suffix, or with leading/trailing whitespace.
+     */
+    private boolean isSpecialFloatingPointCandidate(CharSequence s, int start, int end) {
+        if(start >= end) return false;
+        if(s.charAt(start) <= ' ' || s.charAt(end - 1) <= ' ') return true;
+        for(int i = start; i < end; i++) {
+            switch(s.charAt(i)) {
+                case 'N': case 'I': case 'x': case 'X': case 'd': case 'D': case 'f': case 'F': return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.beryx.textio;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.beryx.textio.PropertiesConstants.PROP_PROMPT_BOLD;
+
+/**
+ * Displays a large number of lines one page at a time.
+ * <br>The lines are pulled lazily from an {@link Iterator}, so that only the lines of the current page are kept in memory.
+ * In order to go back to a previous page, a new iterator is obtained from the {@link Supplier} passed to the constructor
+ * and the lines preceding the requested page are skipped. Therefore, the supplier should return iterators that provide the same lines each time.
+ * <br>After each page, the user is prompted for a command:
+ * <ul>
+ *     <li>Enter or space: display the next page (or quit, if the last page is displayed)</li>
+ *     <li>b: display the previous page</li>
+ *     <li>q: quit</li>
+ * </ul>
+ * On terminals supporting bookmarks (see {@link TextTerminal#setBookmark(String)}), the previous page and the prompt are cleared
+ * before displaying a new page, so that the terminal holds only the current page.
+ * <br>The prompt is displayed using the terminal properties with the prefix {@value #PROPS_PREFIX_PAGER_PROMPT} (by default, in bold).
+ * <br>Instances are obtained by calling {@link TextTerminal#newPager(Supplier)}.
+ */
+public class Pager {
+    public static final String PROPS_PREFIX_PAGER_PROMPT = "pager.prompt";
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+
+    /** The bookmark set at the start of each {@link #show()}. A fixed name lets each call replace the bookmark of the previous one. */
+    public static final String PAGER_BOOKMARK = "textio.pager";
+
+    protected final TextTerminal<?> textTerminal;
+    private final Supplier<? extends Iterator<String>> linesSupplier;
+
+    private int pageSize = DEFAULT_PAGE_SIZE;
+    private boolean clearOnExit;
+
+    public Pager(TextTerminal<?> textTerminal, Supplier<? extends Iterator<String>> linesSupplier) {
+        this.textTerminal = textTerminal;
+        this.linesSupplier = linesSupplier;
+    }
+
+    /** Configures the number of lines displayed on a page. Default: {@value #DEFAULT_PAGE_SIZE}. */
+    public Pager withPageSize(int pageSize) {
+        this.pageSize = Math.max(1, pageSize);
+        return this;
+    }
+
+    /**
+     * Configures whether the last displayed page should be cleared when the pager exits.
+     * This setting has no effect on terminals that do not support bookmarks. Default: false.
+     */
+    public Pager withClearOnExit(boolean clearOnExit) {
+        this.clearOnExit = clearOnExit;
+        return this;
+    }
+
+    /**
+     * Displays the lines page by page, until the user quits or moves past the last page.
+     * If all lines fit on a single page, they are displayed without prompting the user.
+     * @return the number of the last displayed page, starting with 1, or 0 if there were no lines to display.
+     */
+    public int show() {
+        boolean bookmarked = textTerminal.setBookmark(PAGER_BOOKMARK);
+
+        List<String> page = new ArrayList<>(pageSize);
+        Iterator<String> lines = linesSupplier.get();
+        int pageIndex = 0;
+        fillPage(lines, page);
+        if(page.isEmpty()) return 0;
+        while(true) {
+            textTerminal.println(page);
+            boolean hasNext = lines.hasNext();
+            if(pageIndex == 0 && !hasNext) return 1;
+
+            Command command = readCommand(pageIndex + 1, hasNext);
+            if(command == Command.QUIT || (command == Command.NEXT && !hasNext)) break;
+            if(command == Command.NEXT) {
+                pageIndex++;
+                fillPage(lines, page);
+            } else if(command == Command.PREVIOUS && pageIndex > 0) {
+                pageIndex--;
+                lines = linesSupplier.get();
+                for(long i = (long)pageIndex * pageSize; i > 0 && lines.hasNext(); i--) {
+                    lines.next();
+                }
+                fillPage(lines, page);
+            }
+            if(bookmarked) {
+                textTerminal.resetToBookmark(PAGER_BOOKMARK);
+            }
+        }
+        if(bookmarked) {
+            textTerminal.resetToBookmark(PAGER_BOOKMARK);
+            if(!clearOnExit) {
+                textTerminal.println(page);
+            }
+        }
+        return pageIndex + 1;
+    }
+
+    private void fillPage(Iterator<String> lines, List<String> page) {
+        page.clear();
+        while(page.size() < pageSize && lines.hasNext()) {
+            String line = lines.next();
+            page.add((line == null) ? "" : line);
+        }
+    }
+
+    private enum Command {NEXT, PREVIOUS, QUIT, UNKNOWN}
+
+    private Command readCommand(int pageNumber, boolean hasNext) {
+        String prompt = getPrompt(pageNumber, hasNext);
+        textTerminal.executeWithPropertiesConfigurator(props -> {
+            props.put(PROP_PROMPT_BOLD, true);
+            props.putAllWithPrefix(PROPS_PREFIX_PAGER_PROMPT);
+        }, t -> t.rawPrint(prompt));
+        String input = textTerminal.read(false);
+        if(input == null) return Command.QUIT;
+        String cmd = input.trim().toLowerCase();
+        if(cmd.isEmpty()) return Command.NEXT;
+        switch(cmd.charAt(0)) {
+            case 'b': return Command.PREVIOUS;
+            case 'q': return Command.QUIT;
+            case 'n': return Command.NEXT;
+            default: return Command.UNKNOWN;
+        }
+    }
+
+    /**
+     * @return the prompt displayed after the given page.
+     */
+    protected String getPrompt(int pageNumber, boolean hasNext) {
+        if(hasNext) {
+            return "-- Page " + pageNumber + " -- [Enter: next page, b: previous page, q: quit] ";
+        } else {
+            return "-- Page " + pageNumber + " (end) -- [Enter or q: quit, b: previous page] ";
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.beryx.textio;
+
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+/**
+ * A line of text that is repeatedly rewritten in order to display the progress or the status of a long-running task.
+ * <br>The number of updates actually sent to the terminal is limited by {@link #withMaxUpdatesPerSecond(double)}.
+ * Updates arriving faster are merged: only the most recent text is kept and displayed by the next update
+ * that is not throttled or by {@link #close()}.
+ * <br>Instances are obtained by calling {@link TextTerminal#newProgressLine()}.
+ * This base implementation rewrites the line by means of {@link TextTerminal#resetLine()},
+ * while terminals that provide a native progress line override the {@link #render(String)} and {@link #finish(String)} methods.
+ * <br>Typical usage:
+ * <pre>
+ * try(ProgressLine progress = terminal.newProgressLine()) {
+ *     for(int i = 1; i &lt;= count; i++) {
+ *         processItem(i);
+ *         progress.update("Processed " + i + " of " + count);
+ *     }
+ * }
+ * </pre>
+ */
+public class ProgressLine implements AutoCloseable {
+    public static final double DEFAULT_MAX_UPDATES_PER_SECOND = 10;
+
+    protected final TextTerminal<?> textTerminal;
+
+    private long minIntervalNanos;
+    private LongSupplier nanoClock = System::nanoTime;
+    private long lastRenderNanos;
+    private boolean rendered;
+    private boolean closed;
+    private String renderedText;
+    private String pendingText;
+
+    public ProgressLine(TextTerminal<?> textTerminal) {
+        this.textTerminal = textTerminal;
+        withMaxUpdatesPerSecond(DEFAULT_MAX_UPDATES_PER_SECOND);
+    }
+
+    /**
+     * Configures the maximum number of updates per second sent to the terminal.
+     * A value &lt;= 0 disables the rate limiting.
+     */
+    public ProgressLine withMaxUpdatesPerSecond(double maxUpdatesPerSecond) {
+        this.minIntervalNanos = (maxUpdatesPerSecond <= 0) ? 0 : (long)(1_000_000_000L / maxUpdatesPerSecond);
+        return this;
+    }
+
+    /** Sets the clock used for rate limiting. Intended for tests. */
+    ProgressLine withNanoClock(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        return this;
+    }
+
+    /**
+     * Sets the text of this line. The text should not contain line separators.
+     * The text is displayed right away, unless the maximum update rate has been reached, in which case it is displayed later.
+     * @return true, if the text has been sent to the terminal.
+     */
+    public synchronized boolean update(String text) {
+        if(closed) throw new IllegalStateException("The progress line has been closed.");
+        pendingText = text;
+        long now = nanoClock.getAsLong();
+        if(rendered && now - lastRenderNanos < minIntervalNanos) return false;
+        renderPending(now);
+        return true;
+    }
+
+    /**
+     * Convenience method that sets a formatted text.
+     * @see #update(String)
+     */
+    public boolean update(String format, Object... args) {
+        return update(String.format(format, args));
+    }
+
+    /**
+     * Convenience method that displays a percentage.
+     * @param message the message preceding the percentage
+     * @param done the amount of work already done
+     * @param total the total amount of work
+     */
+    public boolean updatePercentage(String message, long done, long total) {
+        int percentage = (total <= 0) ? 100 : (int)Math.min(100, Math.max(0, done * 100 / total));
+        return update(String.format(Locale.ROOT, "%s%3d%%", message, percentage));
+    }
+
+    /**
+     * Displays the most recent text, even if it has been throttled.
+     */
+    public synchronized void flush() {
+        if(!closed && pendingText != null && !pendingText.equals(renderedText)) {
+            renderPending(nanoClock.getAsLong());
+        }
+    }
+
+    /**
+     * Displays the most recent text and terminates the line.
+     * Subsequent calls have no effect.
+     */
+    @Override
+    public synchronized void close() {
+        if(closed) return;
+        closed = true;
+        String text = (pendingText != null) ? pendingText : "";
+        finish(text);
+    }
+
+    /**
+     * Replaces the text of this line with the given final text and terminates the line.
+     */
+    public synchronized void close(String finalText) {
+        if(closed) return;
+        pendingText = finalText;
+        close();
+    }
+
+    private void renderPending(long now) {
+        String text = pendingText;
+        render(text);
+        renderedText = text;
+        lastRenderNanos = now;
+        rendered = true;
+    }
+
+    /**
+     * @return true, if at least one update has already been sent to the terminal.
+     */
+    protected boolean isRendered() {
+        return rendered;
+    }
+
+    /**
+     * @return the text most recently sent to the terminal, or null if no text has been sent yet.
+     */
+    protected String getRenderedText() {
+        return renderedText;
+    }
+
+    /**
+     * Sends the text of this line to the terminal.
+     * This default implementation clears the current line (if this is not the first update) and prints the text.
+     */
+    protected void render(String text) {
+        if(rendered) {
+            textTerminal.resetLine();
+        }
+        textTerminal.rawPrint(text);
+    }
+
+    /**
+     * Displays the final text of this line and terminates the line.
+     * This default implementation renders the text if it has not been already displayed and then calls {@link TextTerminal#println()}.
+     */
+    protected void finish(String text) {
+        if(!rendered || !text.equals(renderedText)) {
+            render(text);
+            renderedText = text;
+            rendered = true;
+        }
+        textTerminal.println();
+    }
+}
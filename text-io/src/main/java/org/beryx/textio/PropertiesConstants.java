@@ -47,6 +47,9 @@ public class PropertiesConstants {
     public static final String PROP_PANE_ICON_URL = "pane.icon.url";
     public static final String PROP_PANE_ICON_FILE = "pane.icon.file";
     public static final String PROP_PANE_ICON_RESOURCE = "pane.icon.resource";
+    public static final String PROP_PANE_MAX_LINES = "pane.max.lines";
+    public static final String PROP_PANE_MAX_CHARS = "pane.max.chars";
+    public static final String PROP_PANE_HISTORY_FILE = "pane.history.file";
 
     public static final String PROP_ANSI_COLOR_MODE = "ansi.color.mode";
 
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.beryx.textio;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Watches the properties files of the terminals initialized with {@link AbstractTextTerminal#SYSPROP_PROPERTIES_HOT_RELOAD} enabled
+ * and reloads their properties after the files have been modified.
+ * <br>The terminals are weakly referenced. The reloading takes place in a daemon thread, which is started when the first file is registered.
+ * <br>Files without live terminals are dropped, and directories are no longer watched after they have been deleted
+ * or when none of their files is still in use.
+ */
+final class PropertiesFileWatcher {
+    private static final Logger logger =  LoggerFactory.getLogger(PropertiesFileWatcher.class);
+
+    /** Delay between the notification of a modification and the reloading, in order to let the writer finish its job */
+    private static final long RELOAD_DELAY_MILLIS = 100L;
+
+    private static PropertiesFileWatcher instance;
+
+    private final WatchService watchService;
+    private final Map<Path, WatchKey> watchedDirs = new HashMap<>();
+    private final Map<Path, WatchedFile> watchedFiles = new HashMap<>();
+
+    private static class WatchedFile {
+        final File file;
+        String stamp;
+        final Set<AbstractTextTerminal<?>> terminals = Collections.newSetFromMap(new WeakHashMap<>());
+
+        WatchedFile(File file) {
+            this.file = file;
+            this.stamp = getStamp(file);
+        }
+    }
+
+    private PropertiesFileWatcher(WatchService watchService) {
+        this.watchService = watchService;
+    }
+
+    private static String getStamp(File file) {
+        return file.lastModified() + ":" + file.length();
+    }
+
+    /**
+     * Registers a terminal whose properties should be reloaded when the given file is modified.
+     */
+    static synchronized void register(File file, AbstractTextTerminal<?> terminal) {
+        try {
+            if(instance == null) {
+                instance = new PropertiesFileWatcher(FileSystems.getDefault().newWatchService());
+                Thread thread = new Thread(instance::watch, "textio-properties-watcher");
+                thread.setDaemon(true);
+                thread.start();
+            }
+            instance.pruneUnusedFiles();
+            Path path = file.getAbsoluteFile().toPath();
+            Path dir = path.getParent();
+            if(!instance.watchedDirs.containsKey(dir)) {
+                instance.watchedDirs.put(dir, dir.register(instance.watchService, ENTRY_CREATE, ENTRY_MODIFY));
+            }
+            instance.watchedFiles.computeIfAbsent(path, p -> new WatchedFile(p.toFile())).terminals.add(terminal);
+        } catch (IOException e) {
+            logger.warn("Cannot watch terminal properties file {}", file.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Registers a terminal for the same files as an already registered one.
+     */
+    static synchronized void registerAlike(AbstractTextTerminal<?> registeredTerminal, AbstractTextTerminal<?> terminal) {
+        if(instance == null) return;
+        instance.watchedFiles.values().forEach(watchedFile -> {
+            if(watchedFile.terminals.contains(registeredTerminal)) {
+                watchedFile.terminals.add(terminal);
+            }
+        });
+    }
+
+    private void watch() {
+        while(true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+                Thread.sleep(RELOAD_DELAY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            key.pollEvents();
+            Path dir = (Path)key.watchable();
+            boolean valid = key.reset();
+            reloadModifiedFiles(dir);
+            if(!valid) {
+                synchronized (PropertiesFileWatcher.class) {
+                    if(watchedDirs.remove(dir, key)) {
+                        logger.debug("Directory {} is no longer watched.", dir);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the files whose terminals have all been garbage collected and stops watching the directories without files.
+     * Must be called while holding the lock on {@link PropertiesFileWatcher}.class.
+     */
+    private void pruneUnusedFiles() {
+        watchedFiles.values().removeIf(watchedFile -> watchedFile.terminals.isEmpty());
+        Set<Path> usedDirs = new HashSet<>();
+        watchedFiles.keySet().forEach(path -> usedDirs.add(path.getParent()));
+        watchedDirs.entrySet().removeIf(entry -> {
+            if(usedDirs.contains(entry.getKey())) return false;
+            entry.getValue().cancel();
+            return true;
+        });
+    }
+
+    private void reloadModifiedFiles(Path dir) {
+        Map<File, List<AbstractTextTerminal<?>>> toReload = new HashMap<>();
+        synchronized (PropertiesFileWatcher.class) {
+            pruneUnusedFiles();
+            watchedFiles.forEach((path, watchedFile) -> {
+                if(dir.equals(path.getParent())) {
+                    String stamp = getStamp(watchedFile.file);
+                    if(!stamp.equals(watchedFile.stamp)) {
+                        watchedFile.stamp = stamp;
+                        toReload.put(watchedFile.file, new ArrayList<>(watchedFile.terminals));
+                    }
+                }
+            });
+        }
+        toReload.forEach((file, terminals) -> terminals.forEach(terminal -> {
+            try {
+                terminal.reloadProperties(file);
+            } catch (Exception e) {
+                logger.error("Failed to reload the terminal properties from {}", file.getAbsolutePath(), e);
+            }
+        }));
+    }
+}
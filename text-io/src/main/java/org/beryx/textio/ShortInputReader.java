@@ -20,7 +20,7 @@ import java.util.function.Supplier;
 /**
  * A reader for short values.
  */
-public class ShortInputReader extends ComparableInputReader<Short, ShortInputReader> {
+public class ShortInputReader extends NumberInputReader<Short, ShortInputReader> {
     public ShortInputReader(Supplier<TextTerminal<?>> textTerminalSupplier) {
         super(textTerminalSupplier);
     }
@@ -32,10 +32,8 @@ public class ShortInputReader extends ComparableInputReader<Short, ShortInputRea
 
     @Override
     protected ParseResult<Short> parse(String s) {
-        try {
-            return new ParseResult<>(Short.parseShort(s));
-        } catch (NumberFormatException e) {
-            return new ParseResult<>(null, getErrorMessages(s));
-        }
+        NumberParser parser = getNumberParser();
+        if(!parser.parseLong(s, Short.MIN_VALUE, Short.MAX_VALUE)) return getErrorResult(s);
+        return new ParseResult<>((short)parser.getLongValue());
     }
 }
@@ -15,6 +15,7 @@
  */
 package org.beryx.textio;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.IntFunction;
@@ -30,10 +31,15 @@ public class StringInputReader extends InputReader<String, StringInputReader> {
     private int minLength = 1;
     private int maxLength = -1;
 
+    private static final IntFunction<String> CHARACTERS = l -> l + " character" + ((l > 1) ? "s." : ".");
+
+    /** Escapes, inline flags, atomic groups, possessive quantifiers and class intersections not available in JavaScript */
+    private static final Pattern NON_PORTABLE_REGEX = Pattern.compile("\\\\[pPAzZGQEhHRXeavV]|&&|\\(\\?[^:=!]|[*+?}]\\+");
+
     public StringInputReader(Supplier<TextTerminal<?>> textTerminalSupplier) {
         super(textTerminalSupplier);
-        valueCheckers.add((val, propName) -> getLengthValidationErrors(val));
-        valueCheckers.add((val, propName) -> getPatternValidationErrors(val));
+        valueCheckers.add(checkerWithCost((val, propName) -> getLengthValidationErrors(val), ValueChecker.COST_LOW));
+        valueCheckers.add(checkerWithCost((val, propName) -> getPatternValidationErrors(val), ValueChecker.COST_DEFAULT));
     }
 
     public StringInputReader withPattern(String regex) {
@@ -74,14 +80,52 @@ public class StringInputReader extends InputReader<String, StringInputReader> {
 
     protected List<String> getLengthValidationErrors(String s) {
         int len = (s == null) ? 0 : s.length();
-        IntFunction<String> chr = l -> l + " character" + ((l > 1) ? "s." : ".");
-        if(minLength > 0 && minLength > len) return Collections.singletonList("Expected a string with at least " + chr.apply(minLength));
-        if(maxLength > 0 && maxLength < len) return Collections.singletonList("Expected a string with at most " + chr.apply(maxLength));
+        if(minLength > 0 && minLength > len) return Collections.singletonList(getMinLengthErrorMessage());
+        if(maxLength > 0 && maxLength < len) return Collections.singletonList(getMaxLengthErrorMessage());
         return null;
     }
 
+    private String getMinLengthErrorMessage() {
+        return "Expected a string with at least " + CHARACTERS.apply(minLength);
+    }
+
+    private String getMaxLengthErrorMessage() {
+        return "Expected a string with at most " + CHARACTERS.apply(maxLength);
+    }
+
     protected List<String> getPatternValidationErrors(String s) {
-        if((pattern != null) && !pattern.matcher(s).matches()) return Collections.singletonList("Expected format: " + pattern.pattern());
+        if((pattern != null) && !pattern.matcher(s).matches()) return Collections.singletonList(getPatternErrorMessage());
         return null;
     }
+
+    private String getPatternErrorMessage() {
+        return "Expected format: " + pattern.pattern();
+    }
+
+    /**
+     * In addition to the rules created by {@link InputReader#createInputRules()}, it configures the length limits,
+     * the pattern (if it has the same meaning in JavaScript) and the possible values (if they are compared using the default equals function).
+     */
+    @Override
+    protected InputRules createInputRules() {
+        InputRules rules = super.createInputRules();
+        if(isIndexInput()) return rules;
+        String defaultErrorMessage = getDefaultErrorMessage("");
+        if(minLength > 0) rules.withMinLength(minLength, Arrays.asList(defaultErrorMessage, getMinLengthErrorMessage()));
+        if(maxLength > 0) rules.withMaxLength(maxLength, Arrays.asList(defaultErrorMessage, getMaxLengthErrorMessage()));
+        if(pattern != null && (pattern.flags() & ~Pattern.CASE_INSENSITIVE) == 0 && isPortablePattern(pattern.pattern())) {
+            rules.withPattern(pattern.pattern(), pattern.flags() != 0, Arrays.asList(defaultErrorMessage, getPatternErrorMessage()));
+        }
+        if(possibleValues != null && hasDefaultEqualsFunc()) {
+            rules.withPossibleValues(possibleValues, getPossibleValuesErrorMessages(""));
+        }
+        return rules;
+    }
+
+    /**
+     * @return false, if the regex contains constructs that are not supported or have a different meaning in JavaScript.
+     */
+    static boolean isPortablePattern(String regex) {
+        return !NON_PORTABLE_REGEX.matcher(regex).find();
+    }
 }
@@ -0,0 +1,317 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.beryx.textio;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.beryx.textio.PropertiesConstants.PROP_PROMPT_BOLD;
+
+/**
+ * Writes tabular data to a {@link TextTerminal}, one row at a time.
+ * <br>The column widths are computed from the header and from a bounded sample of the first rows (see {@link #withSampleSize(int)}),
+ * so the rows can be streamed from an {@link Iterator} or a {@link Stream} without keeping the whole table in memory.
+ * Cells of subsequent rows that do not fit into their column are truncated.
+ * <br>Instances are obtained by calling {@link TextTerminal#newTableWriter()}.
+ * This base implementation prints each row as a line of padded text, sending the lines to the terminal in batches.
+ * Terminals that are able to display tables natively override the rendering methods.
+ * <br>The header is displayed using the terminal properties with the prefix {@value #PROPS_PREFIX_TABLE_HEADER}
+ * (by default, in bold).
+ */
+public class TableWriter {
+    public enum Alignment {LEFT, RIGHT}
+
+    public static final String PROPS_PREFIX_TABLE_HEADER = "table.header";
+
+    public static final int DEFAULT_SAMPLE_SIZE = 100;
+    public static final int DEFAULT_MAX_COLUMN_WIDTH = 40;
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    private static final Pattern NUMBER_PATTERN = Pattern.compile("[-+]?[0-9][0-9,._']*([eE][-+]?[0-9]+)?%?");
+    private static final Pattern LINE_BREAK_PATTERN = Pattern.compile("\\R");
+
+    protected final TextTerminal<?> textTerminal;
+
+    private List<String> headers = Collections.emptyList();
+    private List<Alignment> alignments = Collections.emptyList();
+    private Function<Object, String> cellFormatter = val -> (val == null) ? "" : String.valueOf(val);
+    private String columnSeparator = "  ";
+    private int sampleSize = DEFAULT_SAMPLE_SIZE;
+    private int maxColumnWidth = DEFAULT_MAX_COLUMN_WIDTH;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    private int[] widths;
+    private Alignment[] columnAlignments;
+    private final StringBuilder lineBuilder = new StringBuilder();
+    private final List<String> batch = new ArrayList<>();
+    private boolean stopped;
+
+    public TableWriter(TextTerminal<?> textTerminal) {
+        this.textTerminal = textTerminal;
+    }
+
+    /** Configures the column headers. If no headers are configured, the table is displayed without a header. */
+    public TableWriter withHeaders(String... headers) {
+        this.headers = Arrays.asList(headers);
+        return this;
+    }
+
+    /**
+     * Configures the alignment of the columns.
+     * Columns without a configured alignment are right-aligned if all their sampled values are numbers and left-aligned otherwise.
+     */
+    public TableWriter withAlignments(Alignment... alignments) {
+        this.alignments = Arrays.asList(alignments);
+        return this;
+    }
+
+    /** Configures the function used to convert cell values to text. Default: {@link String#valueOf(Object)}, with null values displayed as empty cells. */
+    public TableWriter withCellFormatter(Function<Object, String> cellFormatter) {
+        this.cellFormatter = cellFormatter;
+        return this;
+    }
+
+    /** Configures the text displayed between columns. Default: two spaces. */
+    public TableWriter withColumnSeparator(String columnSeparator) {
+        this.columnSeparator = columnSeparator;
+        return this;
+    }
+
+    /** Configures the number of rows used to compute the column widths. Default: {@value #DEFAULT_SAMPLE_SIZE}. */
+    public TableWriter withSampleSize(int sampleSize) {
+        this.sampleSize = Math.max(1, sampleSize);
+        return this;
+    }
+
+    /** Configures the maximum width of a column. Default: {@value #DEFAULT_MAX_COLUMN_WIDTH}. */
+    public TableWriter withMaxColumnWidth(int maxColumnWidth) {
+        this.maxColumnWidth = Math.max(1, maxColumnWidth);
+        return this;
+    }
+
+    /** Configures the number of rows sent to the terminal in a single operation. Default: {@value #DEFAULT_BATCH_SIZE}. */
+    public TableWriter withBatchSize(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+        return this;
+    }
+
+    /**
+     * Writes the rows provided by the given stream.
+     * @return the number of rows written, excluding the header.
+     */
+    public long write(Stream<? extends List<?>> rows) {
+        return write(rows.iterator());
+    }
+
+    /**
+     * Writes the rows provided by the given iterator.
+     * Only the sampled rows are kept in memory, the other rows are written as soon as they are available.
+     * Rows with more cells than the number of columns determined from the header and the sample are truncated.
+     * <br>If a subclass calls {@link #stop()}, no further rows are pulled from the iterator.
+     * @return the number of rows written, excluding the header.
+     */
+    public long write(Iterator<? extends List<?>> rows) {
+        stopped = false;
+        List<String[]> sample = new ArrayList<>();
+        int columnCount = headers.size();
+        while(sample.size() < sampleSize && rows.hasNext()) {
+            String[] cells = toCells(rows.next(), -1);
+            columnCount = Math.max(columnCount, cells.length);
+            sample.add(cells);
+        }
+        computeLayout(columnCount, sample);
+
+        beginTable(widths, columnAlignments);
+        if(!headers.isEmpty()) {
+            writeHeader(fit(headers.toArray(new String[0])));
+        }
+        long count = 0;
+        for(String[] cells : sample) {
+            if(stopped) break;
+            writeRow(fit(cells));
+            if(!stopped) count++;
+        }
+        sample.clear();
+        while(!stopped && rows.hasNext()) {
+            writeRow(fit(toCells(rows.next(), columnCount)));
+            if(!stopped) count++;
+        }
+        endTable();
+        return count;
+    }
+
+    private String[] toCells(List<?> row, int maxCells) {
+        int size = (row == null) ? 0 : row.size();
+        if(maxCells >= 0 && size > maxCells) size = maxCells;
+        String[] cells = new String[size];
+        for(int i = 0; i < size; i++) {
+            String text = cellFormatter.apply(row.get(i));
+            cells[i] = (text == null) ? "" : toSingleLine(text);
+        }
+        return cells;
+    }
+
+    /** Replaces the line breaks with spaces. The regular expression is only applied to the texts containing line break characters. */
+    private static String toSingleLine(String text) {
+        for(int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if((c >= '\n' && c <= '\r') || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return LINE_BREAK_PATTERN.matcher(text).replaceAll(" ");
+            }
+        }
+        return text;
+    }
+
+    private void computeLayout(int columnCount, List<String[]> sample) {
+        widths = new int[columnCount];
+        columnAlignments = new Alignment[columnCount];
+        for(int col = 0; col < columnCount; col++) {
+            int width = (col < headers.size()) ? headers.get(col).length() : 0;
+            boolean numeric = true;
+            boolean empty = true;
+            for(String[] cells : sample) {
+                if(col >= cells.length || cells[col].isEmpty()) continue;
+                width = Math.max(width, cells[col].length());
+                empty = false;
+                if(numeric && !NUMBER_PATTERN.matcher(cells[col].trim()).matches()) numeric = false;
+            }
+            widths[col] = Math.max(1, Math.min(width, maxColumnWidth));
+            Alignment alignment = (col < alignments.size()) ? alignments.get(col) : null;
+            if(alignment == null) alignment = (numeric && !empty) ? Alignment.RIGHT : Alignment.LEFT;
+            columnAlignments[col] = alignment;
+        }
+    }
+
+    /**
+     * @return an array with one cell per column, truncating the cells that exceed the width of their column.
+     */
+    private String[] fit(String[] cells) {
+        String[] fitted = (cells.length == widths.length) ? cells : Arrays.copyOf(cells, widths.length);
+        for(int col = 0; col < widths.length; col++) {
+            String cell = fitted[col];
+            if(cell == null) {
+                fitted[col] = "";
+            } else if(cell.length() > widths[col]) {
+                int width = widths[col];
+                fitted[col] = (width > 3) ? (cell.substring(0, width - 3) + "...") : cell.substring(0, width);
+            }
+        }
+        return fitted;
+    }
+
+    /**
+     * Stops the current {@link #write(Iterator)}. Called by subclasses that cannot write further rows.
+     * The row being written when this method is called is not counted as written.
+     */
+    protected void stop() {
+        stopped = true;
+    }
+
+    /** @return true, if the current {@link #write(Iterator)} has been stopped. */
+    protected boolean isStopped() {
+        return stopped;
+    }
+
+    /** @return the widths of the columns, available after the rows have been sampled. */
+    protected int[] getWidths() {
+        return widths;
+    }
+
+    /** @return the alignments of the columns, available after the rows have been sampled. */
+    protected Alignment[] getAlignments() {
+        return columnAlignments;
+    }
+
+    /**
+     * Called before writing the header and the rows.
+     * This default implementation does nothing.
+     */
+    protected void beginTable(int[] widths, Alignment[] alignments) {
+    }
+
+    /**
+     * Writes the header, using the terminal properties with the prefix {@value #PROPS_PREFIX_TABLE_HEADER}.
+     * The cells are already truncated to the width of their columns.
+     */
+    protected void writeHeader(String[] cells) {
+        String headerLine = formatLine(cells);
+        StringBuilder separator = new StringBuilder();
+        for(int col = 0; col < widths.length; col++) {
+            if(col > 0) separator.append(columnSeparator);
+            for(int i = 0; i < widths[col]; i++) separator.append('-');
+        }
+        textTerminal.executeWithPropertiesConfigurator(props -> {
+            props.put(PROP_PROMPT_BOLD, true);
+            props.putAllWithPrefix(PROPS_PREFIX_TABLE_HEADER);
+        }, t -> {
+            t.rawPrint(headerLine);
+            t.println();
+        });
+        textTerminal.rawPrint(separator.toString());
+        textTerminal.println();
+    }
+
+    /**
+     * Writes a row. The cells are already truncated to the width of their columns.
+     * This default implementation adds the formatted line to a batch, which is sent to the terminal when it is full.
+     */
+    protected void writeRow(String[] cells) {
+        batch.add(formatLine(cells));
+        if(batch.size() >= batchSize) {
+            flushBatch();
+        }
+    }
+
+    /**
+     * Called after the last row has been written.
+     * This default implementation sends the remaining rows to the terminal.
+     */
+    protected void endTable() {
+        flushBatch();
+    }
+
+    private void flushBatch() {
+        if(batch.isEmpty()) return;
+        textTerminal.rawPrint(batch);
+        textTerminal.println();
+        batch.clear();
+    }
+
+    /**
+     * @return the cells padded according to the widths and alignments of the columns and joined by the column separator.
+     */
+    protected String formatLine(String[] cells) {
+        StringBuilder sb = lineBuilder;
+        sb.setLength(0);
+        for(int col = 0; col < cells.length; col++) {
+            if(col > 0) sb.append(columnSeparator);
+            String cell = cells[col];
+            int padding = widths[col] - cell.length();
+            if(columnAlignments[col] == Alignment.RIGHT) {
+                for(int i = 0; i < padding; i++) sb.append(' ');
+                sb.append(cell);
+            } else {
+                sb.append(cell);
+                if(col < cells.length - 1) {
+                    for(int i = 0; i < padding; i++) sb.append(' ');
+                }
+            }
+        }
+        return sb.toString();
+    }
+}
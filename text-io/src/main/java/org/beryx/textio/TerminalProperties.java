@@ -20,14 +20,27 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static org.beryx.textio.PropertiesConstants.*;
 
 /**
  * A map of properties associated with a TextTerminal.
+ * <br>The properties are stored in a concurrent map, therefore reads are lock-free and may be performed from any thread.
+ * Modifications are serialized by a private lock, which is never held while the listeners are notified.
+ * <br>The listeners are notified in the order in which the modifications occurred, and they are never called concurrently.
+ * Usually, they are called by the thread that performed the modification, before the modifying method returns.
+ * If another thread is already notifying the listeners of this instance, the modifying method returns without waiting
+ * and its changes are notified by that thread, after the preceding ones.
+ * A modification performed by a listener (of any properties instance) is notified after the current listener returns.
  * @param <T> the type of the TextTerminal.
  */
 public class TerminalProperties<T extends TextTerminal<T>> {
@@ -35,8 +48,185 @@ public class TerminalProperties<T extends TextTerminal<T>> {
 
     private final T textTerminal;
 
-    private final Map<String, String> props = new HashMap<>();
-    private final List<ExtendedChangeListener<T>> listeners = new ArrayList<>();
+    private final Object writeLock = new Object();
+    private volatile Map<String, PropertyValue> props = new ConcurrentHashMap<>();
+
+    /**
+     * True, if the current map is also used by another TerminalProperties instance (see {@link #putAllFrom(TerminalProperties)}).
+     * A shared map is never modified: it is copied before the first modification. Guarded by writeLock.
+     */
+    private boolean propsShared;
+
+    /** Incremented each time the set of keys changes. Written while holding the writeLock. */
+    private volatile long keysVersion;
+
+    /** The most recent overlay started by the current thread and not popped yet. */
+    private final ThreadLocal<Overlay> currentOverlay = new ThreadLocal<>();
+
+    /**
+     * A token returned by {@link #pushOverlay()}, which must be passed to the matching {@link #popOverlay(Overlay)}.
+     * It records the keys modified by its thread while it was the most recent overlay of that thread.
+     */
+    public static final class Overlay {
+        private final TerminalProperties<?> properties;
+        private final Thread owner = Thread.currentThread();
+        private final Overlay parent;
+        private final Map<String, SavedValue> savedValues = new LinkedHashMap<>();
+
+        private Overlay(TerminalProperties<?> properties, Overlay parent) {
+            this.properties = properties;
+            this.parent = parent;
+        }
+    }
+
+    /**
+     * The value of a key before an overlay modified it, together with the last value set by the overlay.
+     * A null value means that the key was (respectively, has been made) absent.
+     */
+    private static final class SavedValue {
+        final PropertyValue previous;
+        PropertyValue current;
+
+        SavedValue(PropertyValue previous, PropertyValue current) {
+            this.previous = previous;
+            this.current = current;
+        }
+    }
+
+    /** The sorted keys of the properties map. It is recomputed lazily, after the set of keys has changed. */
+    private volatile KeyIndex keyIndex;
+
+    private static final int MAX_CACHED_PATTERNS = 256;
+    private static final Map<String, Pattern> patternCache = new ConcurrentHashMap<>();
+
+    /** The changes whose listeners have not been notified yet, in the order in which the modifications occurred. */
+    private final Queue<String[]> pendingChanges = new ConcurrentLinkedQueue<>();
+
+    /** True, while a thread is notifying the listeners about the pending changes. */
+    private final AtomicBoolean notifying = new AtomicBoolean();
+
+    /**
+     * The properties instances with changes produced from inside a listener, to be notified after the listener returns.
+     * Non-null only while the current thread is notifying listeners.
+     */
+    private static final ThreadLocal<Deque<TerminalProperties<?>>> deferredDeliveries = new ThreadLocal<>();
+
+    /** Listeners interested in all keys, in the order of their registration */
+    private final List<RegisteredListener<T>> listeners = new CopyOnWriteArrayList<>();
+
+    /** Listeners interested in a single key, grouped by key, in the order of their registration */
+    private final Map<String, List<RegisteredListener<T>>> keyListeners = new ConcurrentHashMap<>();
+
+    /** Serializes the registration of listeners, so that the registration numbers are increasing in each list */
+    private final Object listenersLock = new Object();
+
+    /** The number of listeners registered so far. Guarded by listenersLock. */
+    private long listenerCounter;
+
+    /**
+     * A listener, together with its registration number.
+     * The registration numbers allow notifying the listeners for a key and those for all keys in the order of their registration.
+     */
+    private static final class RegisteredListener<TT extends TextTerminal<TT>> {
+        final long order;
+        final ExtendedChangeListener<TT> listener;
+
+        RegisteredListener(long order, ExtendedChangeListener<TT> listener) {
+            this.order = order;
+            this.listener = listener;
+        }
+    }
+
+    /**
+     * The keys of a properties map, sorted in order to allow prefix queries in O(log n + k).
+     */
+    private static final class KeyIndex {
+        final Map<String, PropertyValue> props;
+        final long version;
+        final String[] sortedKeys;
+
+        KeyIndex(Map<String, PropertyValue> props, long version) {
+            this(props, version, props.keySet().toArray(new String[0]));
+            Arrays.sort(sortedKeys);
+        }
+
+        KeyIndex(Map<String, PropertyValue> props, long version, String[] sortedKeys) {
+            this.props = props;
+            this.version = version;
+            this.sortedKeys = sortedKeys;
+        }
+
+        /** Calls the consumer for each key starting with the given prefix, in sorted order. */
+        void forEachKeyWithPrefix(String prefix, Consumer<String> consumer) {
+            int pos = Arrays.binarySearch(sortedKeys, prefix);
+            if(pos < 0) pos = -pos - 1;
+            for(int i = pos; i < sortedKeys.length && sortedKeys[i].startsWith(prefix); i++) {
+                consumer.accept(sortedKeys[i]);
+            }
+        }
+    }
+
+    private KeyIndex getKeyIndex() {
+        long version = keysVersion;
+        Map<String, PropertyValue> currentProps = props;
+        KeyIndex index = keyIndex;
+        if(index == null || index.props != currentProps || index.version != version) {
+            index = new KeyIndex(currentProps, version);
+            keyIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * An immutable property value, which caches its typed representations once they have been parsed.
+     * The caches are filled lazily. Concurrent threads may parse the same value twice, but they always obtain equal results.
+     */
+    private static final class PropertyValue {
+        private static final Object INVALID = new Object();
+
+        final String raw;
+        private Object intVal;
+        private Object longVal;
+        private Object doubleVal;
+        private Object boolVal;
+
+        PropertyValue(String raw) {
+            this.raw = raw;
+        }
+
+        private Object parse(Function<String, Object> parser) {
+            if(raw == null) return INVALID;
+            try {
+                return parser.apply(raw);
+            } catch (NumberFormatException e) {
+                return INVALID;
+            }
+        }
+
+        int getInt(int defaultValue) {
+            Object val = intVal;
+            if(val == null) intVal = val = parse(Integer::parseInt);
+            return (val == INVALID) ? defaultValue : (Integer)val;
+        }
+
+        long getLong(long defaultValue) {
+            Object val = longVal;
+            if(val == null) longVal = val = parse(Long::parseLong);
+            return (val == INVALID) ? defaultValue : (Long)val;
+        }
+
+        double getDouble(double defaultValue) {
+            Object val = doubleVal;
+            if(val == null) doubleVal = val = parse(Double::parseDouble);
+            return (val == INVALID) ? defaultValue : (Double)val;
+        }
+
+        boolean getBoolean(boolean defaultValue) {
+            Object val = boolVal;
+            if(val == null) boolVal = val = parse(Boolean::parseBoolean);
+            return (val == INVALID) ? defaultValue : (Boolean)val;
+        }
+    }
 
 
     public interface ChangeListener<TT extends TextTerminal<TT>, V> {
@@ -123,10 +313,170 @@ public class TerminalProperties<T extends TextTerminal<T>> {
     }
 
     /**
-     * @return the list of {@link ExtendedChangeListener} for this instance of TerminalProperties.
+     * @return an unmodifiable snapshot of the list of {@link ExtendedChangeListener} for this instance of TerminalProperties,
+     * including the listeners registered for specific keys, in the order of their registration.
      */
     public List<ExtendedChangeListener<T>> getListeners() {
-        return listeners;
+        List<RegisteredListener<T>> registeredListeners = new ArrayList<>(listeners);
+        keyListeners.values().forEach(registeredListeners::addAll);
+        registeredListeners.sort(Comparator.comparingLong(registered -> registered.order));
+        List<ExtendedChangeListener<T>> allListeners = new ArrayList<>(registeredListeners.size());
+        registeredListeners.forEach(registered -> allListeners.add(registered.listener));
+        return Collections.unmodifiableList(allListeners);
+    }
+
+    /**
+     * Notifies the listeners about the pending changes, on the current thread.
+     * If the current thread is already notifying listeners (that is, the modification has been performed by a listener),
+     * the changes are notified after the current listener returns.
+     * Must be called without holding the writeLock.
+     */
+    private void deliver() {
+        Deque<TerminalProperties<?>> deferred = deferredDeliveries.get();
+        if(deferred != null) {
+            deferred.add(this);
+            return;
+        }
+        deferred = new ArrayDeque<>();
+        deferred.add(this);
+        deferredDeliveries.set(deferred);
+        RuntimeException failure = null;
+        try {
+            TerminalProperties<?> next;
+            while((next = deferred.poll()) != null) {
+                RuntimeException e = next.notifyPendingChanges();
+                if(failure == null) failure = e;
+            }
+        } finally {
+            deferredDeliveries.remove();
+        }
+        if(failure != null) throw failure;
+    }
+
+    /**
+     * Notifies the listeners about the pending changes, unless another thread is already doing this.
+     * In this case, that thread will also notify the changes queued by the current thread.
+     * @return the first exception thrown by a listener, or null.
+     */
+    private RuntimeException notifyPendingChanges() {
+        RuntimeException failure = null;
+        while(!pendingChanges.isEmpty()) {
+            if(!notifying.compareAndSet(false, true)) break;
+            try {
+                String[] change;
+                while((change = pendingChanges.poll()) != null) {
+                    // Every change must be notified, otherwise the listeners would miss the changes queued by other threads.
+                    try {
+                        fireChanged(change[0], change[1], change[2]);
+                    } catch (RuntimeException e) {
+                        if(failure == null) failure = e;
+                    }
+                }
+            } finally {
+                notifying.set(false);
+            }
+        }
+        return failure;
+    }
+
+    /**
+     * Calls the listeners for the given key and those for all keys, merged in the order of their registration.
+     */
+    private void fireChanged(String key, String oldVal, String newVal) {
+        List<RegisteredListener<T>> listenersForKey = keyListeners.get(key);
+        Iterator<RegisteredListener<T>> keyIt = (listenersForKey == null) ? Collections.emptyIterator() : listenersForKey.iterator();
+        Iterator<RegisteredListener<T>> allIt = listeners.iterator();
+        RegisteredListener<T> keyListener = keyIt.hasNext() ? keyIt.next() : null;
+        RegisteredListener<T> allListener = allIt.hasNext() ? allIt.next() : null;
+        while(keyListener != null || allListener != null) {
+            if(allListener == null || (keyListener != null && keyListener.order < allListener.order)) {
+                keyListener.listener.changed(textTerminal, key, oldVal, newVal);
+                keyListener = keyIt.hasNext() ? keyIt.next() : null;
+            } else {
+                allListener.listener.changed(textTerminal, key, oldVal, newVal);
+                allListener = allIt.hasNext() ? allIt.next() : null;
+            }
+        }
+    }
+
+    private static String getRaw(PropertyValue value) {
+        return (value == null) ? null : value.raw;
+    }
+
+    private static PropertyValue toPropertyValue(Object value) {
+        return new PropertyValue((value == null) ? null : String.valueOf((value)));
+    }
+
+    private Overlay getCurrentOverlay() {
+        return currentOverlay.get();
+    }
+
+    /**
+     * Sets (or removes, if {@code value} is null) the value associated with the specified key in {@code newProps},
+     * invalidating the key index if the set of keys changes. Must be called while holding the writeLock.
+     * @return the old value associated with the specified key.
+     */
+    private PropertyValue replaceValue(Map<String, PropertyValue> newProps, String key, PropertyValue value) {
+        PropertyValue oldValue = (value == null) ? newProps.remove(key) : newProps.put(key, value);
+        if((oldValue == null) != (value == null)) keysVersion++;
+        return oldValue;
+    }
+
+    /**
+     * Sets (or removes, if {@code value} is null) the value associated with the specified key in {@code newProps}.
+     * If {@code overlay} is not null, the previous value is saved in it.
+     * The notification is added to {@code changes} if the listeners should be informed about this modification.
+     * Must be called while holding the writeLock.
+     * @param newProps the map returned by {@link #getModifiableProps()}.
+     * @param overlay the current overlay of the calling thread, as returned by {@link #getCurrentOverlay()}.
+     * @return the old value associated with the specified key.
+     */
+    private String setValue(Map<String, PropertyValue> newProps, String key, PropertyValue value, Overlay overlay, List<String[]> changes) {
+        PropertyValue oldValue = replaceValue(newProps, key, value);
+        String oldVal = getRaw(oldValue);
+        String newVal = getRaw(value);
+        if(overlay == null) {
+            changes.add(new String[] {key, oldVal, newVal});
+        } else {
+            SavedValue saved = overlay.savedValues.get(key);
+            if(saved == null) {
+                overlay.savedValues.put(key, new SavedValue(oldValue, value));
+            } else {
+                saved.current = value;
+            }
+            if(!Objects.equals(oldVal, newVal)) {
+                changes.add(new String[] {key, oldVal, newVal});
+            }
+        }
+        return oldVal;
+    }
+
+    /**
+     * @return the map to be modified. If the current map is shared with another instance, it is replaced by a copy.
+     * Must be called while holding the writeLock.
+     */
+    private Map<String, PropertyValue> getModifiableProps() {
+        if(propsShared) {
+            Map<String, PropertyValue> sharedProps = props;
+            Map<String, PropertyValue> newProps = new ConcurrentHashMap<>(sharedProps);
+            KeyIndex index = keyIndex;
+            if(index != null && index.props == sharedProps && index.version == keysVersion) {
+                keyIndex = new KeyIndex(newProps, index.version, index.sortedKeys);
+            }
+            props = newProps;
+            propsShared = false;
+        }
+        return props;
+    }
+
+    /**
+     * Returns the shared map of this instance, which will be copied before the next modification.
+     */
+    private Map<String, PropertyValue> shareProps() {
+        synchronized (writeLock) {
+            propsShared = true;
+            return props;
+        }
     }
 
     /**
@@ -136,8 +486,13 @@ public class TerminalProperties<T extends TextTerminal<T>> {
      */
     public Object remove(String key) {
         if(key == null) return null;
-        String oldVal = props.remove(key);
-        listeners.forEach(listener -> listener.changed(textTerminal, key, oldVal, null));
+        String oldVal;
+        List<String[]> changes = new ArrayList<>(1);
+        synchronized (writeLock) {
+            oldVal = setValue(getModifiableProps(), key, null, getCurrentOverlay(), changes);
+            pendingChanges.addAll(changes);
+        }
+        deliver();
         return oldVal;
     }
 
@@ -145,27 +500,184 @@ public class TerminalProperties<T extends TextTerminal<T>> {
      * Sets the value associated with the specified key.
      * @param key the key with which the specified value should be associated.
      * @param value the value to be associated with the specified key.
-     * @return
+     * @return the old value associated with the specified key.
      */
     public Object put(String key, Object value) {
         if(key == null) return null;
-        String newVal = (value == null) ? null : String.valueOf((value));
-        String oldVal = props.put(key, newVal);
-        listeners.forEach(listener -> listener.changed(textTerminal, key, oldVal, newVal));
+        PropertyValue newValue = toPropertyValue(value);
+        String oldVal;
+        List<String[]> changes = new ArrayList<>(1);
+        synchronized (writeLock) {
+            oldVal = setValue(getModifiableProps(), key, newValue, getCurrentOverlay(), changes);
+            pendingChanges.addAll(changes);
+        }
+        deliver();
         return oldVal;
     }
 
+    /**
+     * Sets the values of all entries in the specified map.
+     * The listeners are notified after all values have been set, in the iteration order of the specified map.
+     */
     public void putAll(Map<String, ? extends Object> map) {
-        if(map == null) return;
-        map.entrySet().forEach(entry -> put(entry.getKey(), entry.getValue()));
+        if(map == null || map.isEmpty()) return;
+        List<String[]> changes = new ArrayList<>(map.size());
+        synchronized (writeLock) {
+            Map<String, PropertyValue> newProps = getModifiableProps();
+            Overlay overlay = getCurrentOverlay();
+            map.forEach((key, value) -> {
+                if(key != null) {
+                    setValue(newProps, key, toPropertyValue(value), overlay, changes);
+                }
+            });
+            pendingChanges.addAll(changes);
+        }
+        deliver();
+    }
+
+    /**
+     * Sets the values of all properties of the specified source.
+     * <br>If this instance has no properties yet, it reuses the map of the source instead of copying it.
+     * The map is then shared by the two instances until one of them is modified (copy-on-write).
+     * @param source the TerminalProperties whose values should be taken over.
+     */
+    public void putAllFrom(TerminalProperties<?> source) {
+        if(source == this) return;
+        Map<String, PropertyValue> sourceProps = source.shareProps();
+        KeyIndex sourceIndex = source.keyIndex;
+        boolean sourceIndexValid = (sourceIndex != null && sourceIndex.props == sourceProps && sourceIndex.version == source.keysVersion);
+        List<String[]> changes = new ArrayList<>(sourceProps.size());
+        synchronized (writeLock) {
+            if(props.isEmpty() && getCurrentOverlay() == null) {
+                props = sourceProps;
+                propsShared = true;
+                keysVersion++;
+                keyIndex = sourceIndexValid ? new KeyIndex(sourceProps, keysVersion, sourceIndex.sortedKeys) : null;
+                sourceProps.forEach((key, value) -> changes.add(new String[] {key, null, value.raw}));
+            } else {
+                Map<String, PropertyValue> newProps = getModifiableProps();
+                Overlay overlay = getCurrentOverlay();
+                sourceProps.forEach((key, value) -> setValue(newProps, key, value, overlay, changes));
+            }
+            pendingChanges.addAll(changes);
+        }
+        deliver();
+    }
+
+    /**
+     * Sets the values of the specified keys, as loaded from a properties file. A null value removes the key.
+     * <br>The values are not recorded in the overlays of the current thread, therefore they are not reverted when an overlay is popped.
+     * Listeners are only notified for keys whose value changes.
+     */
+    void putAllBaseValues(Map<String, String> values) {
+        if(values.isEmpty()) return;
+        List<String[]> changes = new ArrayList<>(values.size());
+        synchronized (writeLock) {
+            Map<String, PropertyValue> newProps = getModifiableProps();
+            values.forEach((key, val) -> {
+                String oldVal = getRaw(replaceValue(newProps, key, (val == null) ? null : new PropertyValue(val)));
+                if(!Objects.equals(oldVal, val)) {
+                    changes.add(new String[] {key, oldVal, val});
+                }
+            });
+            pendingChanges.addAll(changes);
+        }
+        deliver();
+    }
+
+    /**
+     * Takes all properties with the given prefix and puts their values under the corresponding keys without prefix.
+     * <br>For example, if the prefix is {@code warn}, the value of {@code warn.prompt.color} is put under the key {@code prompt.color}.
+     * @param prefix the prefix of the properties whose values should be applied.
+     */
+    public void putAllWithPrefix(String prefix) {
+        String fullPrefix = prefix + ".";
+        int len = fullPrefix.length();
+        Map<String, String> values = new LinkedHashMap<>();
+        KeyIndex index = getKeyIndex();
+        index.forEachKeyWithPrefix(fullPrefix, key -> {
+            PropertyValue value = index.props.get(key);
+            if(value != null) values.put(key.substring(len), value.raw);
+        });
+        putAll(values);
+    }
+
+    /**
+     * Starts a new overlay for the current thread. Until the matching {@link #popOverlay(Overlay)}, all modifications
+     * of the properties performed by this thread are recorded in the overlay.
+     * <br>Overlays can be nested. While an overlay is active, listeners are only notified when the value of a key actually changes.
+     * <br>Overlays are strictly per-thread: modifications performed by other threads are never recorded in this overlay.
+     * @return the token to be passed to {@link #popOverlay(Overlay)}.
+     */
+    public Overlay pushOverlay() {
+        Overlay overlay = new Overlay(this, getCurrentOverlay());
+        currentOverlay.set(overlay);
+        return overlay;
+    }
+
+    /**
+     * Ends the given overlay, restoring the previous values of the keys set by the current thread
+     * since the corresponding {@link #pushOverlay()}.
+     * <br>A key is restored only if it still has the value last set by this overlay. Keys modified in the meantime by other threads
+     * (or by modifications that are not recorded in this overlay) keep their current value.
+     * Listeners are notified only for the keys whose value differs from the restored one.
+     * @param overlay the token returned by the matching {@link #pushOverlay()}.
+     * @throws IllegalStateException if the overlay is not the most recent active overlay started by the current thread.
+     */
+    public void popOverlay(Overlay overlay) {
+        if(overlay.properties != this || overlay.owner != Thread.currentThread() || getCurrentOverlay() != overlay) {
+            throw new IllegalStateException("The properties overlay is not the most recent one started by the current thread.");
+        }
+        if(overlay.parent == null) {
+            currentOverlay.remove();
+        } else {
+            currentOverlay.set(overlay.parent);
+        }
+        if(overlay.savedValues.isEmpty()) return;
+        List<String[]> changes = new ArrayList<>(overlay.savedValues.size());
+        synchronized (writeLock) {
+            Map<String, PropertyValue> newProps = getModifiableProps();
+            overlay.savedValues.forEach((key, saved) -> {
+                PropertyValue currentValue = newProps.get(key);
+                if(currentValue != saved.current) return;
+                String oldVal = getRaw(replaceValue(newProps, key, saved.previous));
+                String newVal = getRaw(saved.previous);
+                if(!Objects.equals(oldVal, newVal)) {
+                    changes.add(new String[] {key, oldVal, newVal});
+                }
+            });
+            pendingChanges.addAll(changes);
+        }
+        deliver();
     }
 
     public Set<String> getAllKeys() {
-        return props.keySet();
+        return Collections.unmodifiableSet(props.keySet());
     }
 
+    /**
+     * @return the keys matching the specified regular expression.
+     * The compiled patterns are cached, therefore repeated calls with the same regular expression do not recompile it.
+     */
     public Set<String> getMatchingKeys(String regex) {
-        return getMatchingKeys(key -> key.matches(regex));
+        Pattern pattern = patternCache.get(regex);
+        if(pattern == null) {
+            pattern = Pattern.compile(regex);
+            if(patternCache.size() >= MAX_CACHED_PATTERNS) patternCache.clear();
+            patternCache.put(regex, pattern);
+        }
+        Pattern compiledPattern = pattern;
+        return getMatchingKeys(key -> compiledPattern.matcher(key).matches());
+    }
+
+    /**
+     * @return the keys starting with the specified prefix, in sorted order.
+     * The keys are retrieved from a sorted index, without scanning all properties.
+     */
+    public Set<String> getKeysWithPrefix(String prefix) {
+        Set<String> keys = new LinkedHashSet<>();
+        getKeyIndex().forEachKeyWithPrefix(prefix, keys::add);
+        return keys;
     }
 
     public Set<String> getMatchingKeys(Predicate<String> keyFilter) {
@@ -176,7 +688,7 @@ public class TerminalProperties<T extends TextTerminal<T>> {
      * @return the value associated with the specified key.
      */
     public String getString(String key) {
-        return props.get(key);
+        return getRaw(props.get(key));
     }
 
     /**
@@ -186,7 +698,7 @@ public class TerminalProperties<T extends TextTerminal<T>> {
      * @return the string value of the property with the specified key.
      */
     public String getString(String key, String defaultValue) {
-        String value = props.get(key);
+        String value = getRaw(props.get(key));
         if(value == null || value.isEmpty()) {
             value = defaultValue;
         }
@@ -200,13 +712,8 @@ public class TerminalProperties<T extends TextTerminal<T>> {
      * @return the int value of the property with the specified key.
      */
     public int getInt(String key, int defaultValue) {
-        String sVal = props.get(key);
-        if(sVal == null) return defaultValue;
-        try {
-            return Integer.parseInt(sVal);
-        } catch (NumberFormatException e) {
-            return defaultValue;
-        }
+        PropertyValue value = props.get(key);
+        return (value == null) ? defaultValue : value.getInt(defaultValue);
     }
 
     /**
@@ -216,13 +723,8 @@ public class TerminalProperties<T extends TextTerminal<T>> {
      * @return the long value of the property with the specified key.
      */
     public long getLong(String key, long defaultValue) {
-        String sVal = props.get(key);
-        if(sVal == null) return defaultValue;
-        try {
-            return Long.parseLong(sVal);
-        } catch (NumberFormatException e) {
-            return defaultValue;
-        }
+        PropertyValue value = props.get(key);
+        return (value == null) ? defaultValue : value.getLong(defaultValue);
     }
 
     /**
@@ -232,13 +734,8 @@ public class TerminalProperties<T extends TextTerminal<T>> {
      * @return the double value of the property with the specified key.
      */
     public double getDouble(String key, double defaultValue) {
-        String sVal = props.get(key);
-        if(sVal == null) return defaultValue;
-        try {
-            return Double.parseDouble(sVal);
-        } catch (NumberFormatException e) {
-            return defaultValue;
-        }
+        PropertyValue value = props.get(key);
+        return (value == null) ? defaultValue : value.getDouble(defaultValue);
     }
 
     /**
@@ -248,17 +745,36 @@ public class TerminalProperties<T extends TextTerminal<T>> {
      * @return the boolean value of the property with the specified key.
      */
     public boolean getBoolean(String key, boolean defaultValue) {
-        String sVal = props.get(key);
-        if(sVal == null) return defaultValue;
-        return Boolean.parseBoolean(sVal);
+        PropertyValue value = props.get(key);
+        return (value == null) ? defaultValue : value.getBoolean(defaultValue);
     }
 
     /**
      * Adds a listener for this TerminalProperties instance.
+     * The listeners are notified in the order of their registration.
      * @param listener the listener to be added.
      */
     public void addListener(ExtendedChangeListener<T> listener) {
-        listeners.add(listener);
+        if(listener instanceof ChangeListenerForKey) {
+            addListenerForKey((ChangeListenerForKey<T, ?>)listener);
+        } else {
+            synchronized (listenersLock) {
+                listeners.add(new RegisteredListener<>(++listenerCounter, listener));
+            }
+        }
+    }
+
+    private void addListenerForKey(ChangeListenerForKey<T, ?> listener) {
+        synchronized (listenersLock) {
+            keyListeners.computeIfAbsent(listener.key, k -> new CopyOnWriteArrayList<>()).add(new RegisteredListener<>(++listenerCounter, listener));
+        }
+    }
+
+    private static <TT extends TextTerminal<TT>> boolean removeFirst(List<RegisteredListener<TT>> registeredListeners, ExtendedChangeListener<TT> listener) {
+        for(RegisteredListener<TT> registered : registeredListeners) {
+            if(registered.listener.equals(listener)) return registeredListeners.remove(registered);
+        }
+        return false;
     }
 
     /**
@@ -267,7 +783,13 @@ public class TerminalProperties<T extends TextTerminal<T>> {
      * @return true, if the listener has been found and removed.
      */
     public boolean removeListener(ExtendedChangeListener<T> listener) {
-        return listeners.remove(listener);
+        synchronized (listenersLock) {
+            if(listener instanceof ChangeListenerForKey) {
+                List<RegisteredListener<T>> listenersForKey = keyListeners.get(((ChangeListenerForKey<T, ?>)listener).key);
+                return (listenersForKey != null) && removeFirst(listenersForKey, listener);
+            }
+            return removeFirst(listeners, listener);
+        }
     }
 
 
@@ -278,7 +800,7 @@ public class TerminalProperties<T extends TextTerminal<T>> {
      * @param listener the listener to be added.
      */
     public void addStringListener(String key, String defaultValue, StringChangeListener<T> listener) {
-        listeners.add(new ChangeListenerForKey<>(key, defaultValue, Function.identity(), listener.get()));
+        addListenerForKey(new ChangeListenerForKey<>(key, defaultValue, Function.identity(), listener.get()));
     }
 
     /**
@@ -288,7 +810,7 @@ public class TerminalProperties<T extends TextTerminal<T>> {
      * @param listener the listener to be added.
      */
     public void addIntListener(String key, int defaultValue, IntChangeListener<T> listener) {
-        listeners.add(new ChangeListenerForKey<>(key, defaultValue, Integer::parseInt, listener.get()));
+        addListenerForKey(new ChangeListenerForKey<>(key, defaultValue, Integer::parseInt, listener.get()));
     }
 
     /**
@@ -298,7 +820,7 @@ public class TerminalProperties<T extends TextTerminal<T>> {
      * @param listener the listener to be added.
      */
     public void addLongListener(String key, long defaultValue, LongChangeListener<T> listener) {
-        listeners.add(new ChangeListenerForKey<>(key, defaultValue, Long::parseLong, listener.get()));
+        addListenerForKey(new ChangeListenerForKey<>(key, defaultValue, Long::parseLong, listener.get()));
     }
 
     /**
@@ -308,7 +830,7 @@ public class TerminalProperties<T extends TextTerminal<T>> {
      * @param listener the listener to be added.
      */
     public void addDoubleListener(String key, double defaultValue, DoubleChangeListener<T> listener) {
-        listeners.add(new ChangeListenerForKey<>(key, defaultValue, Double::parseDouble, listener.get()));
+        addListenerForKey(new ChangeListenerForKey<>(key, defaultValue, Double::parseDouble, listener.get()));
     }
 
     /**
@@ -318,7 +840,7 @@ public class TerminalProperties<T extends TextTerminal<T>> {
      * @param listener the listener to be added.
      */
     public void addBooleanListener(String key, boolean defaultValue, BooleanChangeListener<T> listener) {
-        listeners.add(new ChangeListenerForKey<>(key, defaultValue, Boolean::parseBoolean, listener.get()));
+        addListenerForKey(new ChangeListenerForKey<>(key, defaultValue, Boolean::parseBoolean, listener.get()));
     }
 
 
@@ -25,6 +25,7 @@ import java.util.function.Supplier;
 public class TextIO {
     private final TextTerminal<?> textTerminal;
     private final Supplier<TextTerminal<?>> textTerminalSupplier;
+    private AnswerSource answerSource;
 
     public TextIO(TextTerminal<?> textTerminal) {
         this.textTerminal = textTerminal;
@@ -35,6 +36,20 @@ public class TextIO {
         return textTerminal;
     }
 
+    /**
+     * Configures the {@link AnswerSource} used by the InputReaders subsequently created by this TextIO.
+     * @param answerSource the source of predefined answers. May be null.
+     * @see InputReader#withAnswerSource(AnswerSource)
+     */
+    public TextIO withAnswerSource(AnswerSource answerSource) {
+        this.answerSource = answerSource;
+        return this;
+    }
+
+    public AnswerSource getAnswerSource() {
+        return answerSource;
+    }
+
     public void dispose(String resultData) {
         textTerminal.dispose(resultData);
     }
@@ -44,46 +59,58 @@ public class TextIO {
     }
 
     public BooleanInputReader newBooleanInputReader() {
-        return new BooleanInputReader(textTerminalSupplier);
+        return configure(new BooleanInputReader(textTerminalSupplier));
     }
 
     public ByteInputReader newByteInputReader() {
-        return new ByteInputReader(textTerminalSupplier);
+        return configure(new ByteInputReader(textTerminalSupplier));
     }
 
     public CharInputReader newCharInputReader() {
-        return new CharInputReader(textTerminalSupplier);
+        return configure(new CharInputReader(textTerminalSupplier));
     }
 
     public DoubleInputReader newDoubleInputReader() {
-        return new DoubleInputReader(textTerminalSupplier);
+        return configure(new DoubleInputReader(textTerminalSupplier));
     }
 
     public FloatInputReader newFloatInputReader() {
-        return new FloatInputReader(textTerminalSupplier);
+        return configure(new FloatInputReader(textTerminalSupplier));
     }
 
     public IntInputReader newIntInputReader() {
-        return new IntInputReader(textTerminalSupplier);
+        return configure(new IntInputReader(textTerminalSupplier));
     }
 
     public LongInputReader newLongInputReader() {
-        return new LongInputReader(textTerminalSupplier);
+        return configure(new LongInputReader(textTerminalSupplier));
     }
 
     public ShortInputReader newShortInputReader() {
-        return new ShortInputReader(textTerminalSupplier);
+        return configure(new ShortInputReader(textTerminalSupplier));
     }
 
     public StringInputReader newStringInputReader() {
-        return new StringInputReader(textTerminalSupplier);
+        return configure(new StringInputReader(textTerminalSupplier));
     }
 
     public <T extends Enum<T>> EnumInputReader<T> newEnumInputReader(Class<T> enumClass) {
-        return new EnumInputReader<T>(textTerminalSupplier, enumClass);
+        return configure(new EnumInputReader<T>(textTerminalSupplier, enumClass));
     }
 
     public <T> GenericInputReader<T> newGenericInputReader(Function<String, InputReader.ParseResult<T>> parser) {
-        return new GenericInputReader<T>(textTerminalSupplier, parser);
+        return configure(new GenericInputReader<T>(textTerminalSupplier, parser));
+    }
+
+    private <R extends InputReader<?, ?>> R configure(R inputReader) {
+        if(answerSource != null) inputReader.withAnswerSource(answerSource);
+        return inputReader;
+    }
+
+    /**
+     * Creates a {@link Form}, whose fields are read together on terminals supporting forms and one by one on the other terminals.
+     */
+    public Form newForm() {
+        return new Form(textTerminal);
     }
 }
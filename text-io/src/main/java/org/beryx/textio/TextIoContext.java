@@ -0,0 +1,178 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.beryx.textio;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Provides {@link TextIO} instances for many independent sessions running in the same JVM.
+ * <br>Each session obtains its own {@link TextTerminal}. Terminals are created and initialized by the configured supplier.
+ * <br>By default, a terminal is disposed after its session ends. If a {@link #withRecycler(Predicate) recycler} is configured,
+ * it is asked to prepare the terminal for reuse and, if it succeeds, the terminal is kept in a pool of idle terminals,
+ * so that its creation cost is amortized across sessions. The recycler is responsible for clearing all session state
+ * that should not be visible to the next session, such as modified terminal properties, bookmarks or pending input.
+ * <br>While a session is executed via {@link #run(Consumer)} or {@link #apply(Function)}, its TextIO is bound to the current thread
+ * and it is returned by {@link TextIoFactory#getTextIO()} and {@link TextIoFactory#getTextTerminal()}.
+ * <br>Example:
+ * <pre>
+ *   TextIoContext&lt;MockTextTerminal&gt; context = new TextIoContext&lt;&gt;(MockTextTerminal::new)
+ *          .withRecycler(term -&gt; { term.reset(); return true; });
+ *   int age = context.apply(textIO -&gt; textIO.newIntInputReader().read("Age"));
+ * </pre>
+ * @param <T> the type of the terminals provided by this context.
+ */
+public class TextIoContext<T extends TextTerminal<?>> {
+    private static final Logger logger =  LoggerFactory.getLogger(TextIoContext.class);
+
+    public static final int DEFAULT_MAX_IDLE = 16;
+
+    private static final ThreadLocal<TextIO> currentTextIO = new ThreadLocal<>();
+
+    private final Supplier<T> terminalSupplier;
+    private Predicate<? super T> recycler = term -> false;
+    private int maxIdle = DEFAULT_MAX_IDLE;
+
+    private final Deque<PooledTextIO<T>> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    private static class PooledTextIO<T extends TextTerminal<?>> extends TextIO {
+        final T terminal;
+
+        PooledTextIO(T terminal) {
+            super(terminal);
+            this.terminal = terminal;
+        }
+    }
+
+    /**
+     * @param terminalSupplier the supplier of new terminals. The supplied terminals will be initialized by this context.
+     */
+    public TextIoContext(Supplier<T> terminalSupplier) {
+        this.terminalSupplier = terminalSupplier;
+    }
+
+    /**
+     * @param recycler prepares a terminal for reuse after a session has ended.
+     *                 It should return false if the terminal cannot be reused, in which case the terminal is disposed.
+     *                 By default, no terminal is reused.
+     */
+    public TextIoContext<T> withRecycler(Predicate<? super T> recycler) {
+        this.recycler = recycler;
+        return this;
+    }
+
+    /**
+     * @param maxIdle the maximum number of idle terminals kept for reuse. Terminals exceeding this number are disposed.
+     */
+    public TextIoContext<T> withMaxIdle(int maxIdle) {
+        this.maxIdle = maxIdle;
+        return this;
+    }
+
+    /**
+     * @return the TextIO bound to the current thread by {@link #run(Consumer)} or {@link #apply(Function)}, or null.
+     */
+    public static TextIO getCurrentTextIO() {
+        return currentTextIO.get();
+    }
+
+    /**
+     * Obtains a TextIO for a new session, reusing an idle terminal if available.
+     * The TextIO must be returned to this context via {@link #release(TextIO)} at the end of the session.
+     */
+    public TextIO acquire() {
+        PooledTextIO<T> textIO = idle.pollFirst();
+        if(textIO != null) {
+            idleCount.decrementAndGet();
+            return textIO;
+        }
+        T terminal = terminalSupplier.get();
+        terminal.init();
+        return new PooledTextIO<>(terminal);
+    }
+
+    /**
+     * Ends the session of a TextIO obtained via {@link #acquire()}.
+     * The terminal is recycled and kept for reuse, or disposed if it cannot be reused.
+     */
+    @SuppressWarnings("unchecked")
+    public void release(TextIO textIO) {
+        if(!(textIO instanceof PooledTextIO)) throw new IllegalArgumentException("The TextIO has not been acquired from a TextIoContext.");
+        PooledTextIO<T> pooledTextIO = (PooledTextIO<T>) textIO;
+        boolean reusable;
+        try {
+            reusable = recycler.test(pooledTextIO.terminal);
+        } catch (Exception e) {
+            logger.warn("Failed to recycle terminal.", e);
+            reusable = false;
+        }
+        if(reusable && idleCount.incrementAndGet() <= maxIdle) {
+            idle.offerFirst(pooledTextIO);
+        } else {
+            if(reusable) idleCount.decrementAndGet();
+            pooledTextIO.terminal.dispose();
+        }
+    }
+
+    /**
+     * Executes a session with a TextIO bound to the current thread.
+     * @param action the action to be performed with the TextIO.
+     * @return the result of the action.
+     */
+    public <R> R apply(Function<TextIO, R> action) {
+        TextIO textIO = acquire();
+        TextIO previous = currentTextIO.get();
+        currentTextIO.set(textIO);
+        try {
+            return action.apply(textIO);
+        } finally {
+            if(previous == null) {
+                currentTextIO.remove();
+            } else {
+                currentTextIO.set(previous);
+            }
+            release(textIO);
+        }
+    }
+
+    /**
+     * Executes a session with a TextIO bound to the current thread.
+     * @param action the action to be performed with the TextIO.
+     */
+    public void run(Consumer<TextIO> action) {
+        apply(textIO -> {action.accept(textIO); return null;});
+    }
+
+    /**
+     * Disposes all idle terminals.
+     */
+    public void clear() {
+        PooledTextIO<T> textIO;
+        while((textIO = idle.pollFirst()) != null) {
+            idleCount.decrementAndGet();
+            textIO.terminal.dispose();
+        }
+    }
+}
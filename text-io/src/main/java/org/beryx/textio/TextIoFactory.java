@@ -22,7 +22,16 @@ import org.beryx.textio.system.SystemTextTerminalProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.ServiceLoader;
 
 /**
@@ -32,41 +41,62 @@ import java.util.ServiceLoader;
  *     <li>If the system property {@value #TEXT_TERMINAL_CLASS_PROPERTY} is defined, then it is
  *         taken to be the fully-qualified name of a concrete {@link TextTerminal} class.
  *         The class is loaded and instantiated. If this process fails, then the next step is executed.</li>
- *     <li>a {@link ServiceLoader} loads the configured {@link TextTerminalProvider}s and searches for the
+ *     <li>If the classpath contains the resource {@value #PROVIDERS_INDEX_RESOURCE}, then the {@link TextTerminalProvider}s
+ *         listed in this file (one fully-qualified class name per line) are instantiated in the given order,
+ *         until one of them is capable to provide a {@link TextTerminal} instance.
+ *         Otherwise, a {@link ServiceLoader} loads the configured {@link TextTerminalProvider}s and searches for the
  *         first one capable to provide a {@link TextTerminal} instance.
- *         If none is found, then the next step is executed.</li>
+ *         The index file allows skipping the classpath scan performed by the ServiceLoader.
+ *         If no provider is capable to provide a {@link TextTerminal}, then the next step is executed.</li>
  *     <li>A default implementation is provided as follows:
  *          <ul>
  *              <li>if {@link System#console()} is not null, and a JLine ConsoleReader can be created, then a {@link org.beryx.textio.jline.JLineTextTerminal} is provided.</li>
  *              <li>else, if {@link System#console()} is not null, then a {@link org.beryx.textio.console.ConsoleTextTerminal} is provided.</li>
- *              <li>else, if the system is not headless, then a {@link org.beryx.textio.swing.SwingTextTerminal} is provided.</li>
+ *              <li>else, if the system is not headless, then a {@link org.beryx.textio.swing.SwingTextTerminal} is provided.
+ *              The AWT is not initialized if a quick check indicates that no display is available.</li>
  *              <li>else, a {@link org.beryx.textio.system.SystemTextTerminal} is provided</li>
  *          </ul>
  *     </li>
  * </ol>
+ * The availability of a console is determined only once and the providers are instantiated only when needed.
+ * <br>If the system property {@value #SYSPROP_ANSWERS_FILE} is defined, the global TextIO reads predefined answers
+ * from the properties file with this name (see {@link AnswerSource}).
+ * If the system property {@value #SYSPROP_ANSWERS_STRICT} is also set to true, missing answers cause an {@link AnswerException}
+ * instead of prompting the user.
+ * The answers file is read when the global TextIO is first requested. If it cannot be read, {@link #getTextIO()}
+ * throws an {@link IllegalStateException} naming the file in strict mode, and is retried on the next call.
+ * In non-strict mode, a warning is logged and the global TextIO is created without answers.
+ * <br>Applications running many independent sessions in the same JVM should use a {@link TextIoContext}.
+ * While a session of a TextIoContext is executed, the methods of this class return the TextIO and the TextTerminal of that session.
  */
 public class TextIoFactory {
     private static final Logger logger =  LoggerFactory.getLogger(TextIoFactory.class);
 
     public static final String TEXT_TERMINAL_CLASS_PROPERTY = "org.beryx.textio.TextTerminal";
+    public static final String PROVIDERS_INDEX_RESOURCE = "META-INF/textio/providers";
+    public static final String SYSPROP_ANSWERS_FILE = "textio.answers.file";
+    public static final String SYSPROP_ANSWERS_STRICT = "textio.answers.strict";
+
+    private static volatile TextIO globalTextIO;
 
     private static class Holder {
         static Holder INSTANCE = new Holder();
 
         final TextTerminal<?> terminal;
-        final TextIO textIO;
 
         private Holder() {
+            long startTime = System.nanoTime();
             TextTerminal<?> t = getTerminalFromProperty();
             if(t == null) {
-                t = getTerminalFromService();
+                List<String> indexedProviders = getIndexedProviders();
+                t = (indexedProviders != null) ? getTerminalFromIndex(indexedProviders) : getTerminalFromService();
             }
             if(t == null) {
                 t = getDefaultTerminal();
             }
             t.init();
             this.terminal = t;
-            this.textIO = new TextIO(t);
+            logger.debug("{} created in {} ms.", t.getClass().getSimpleName(), (System.nanoTime() - startTime) / 1_000_000);
         }
 
         private TextTerminal<?> getTerminalFromProperty() {
@@ -74,9 +104,9 @@ public class TextIoFactory {
             if(clsName.isEmpty()) return null;
             try {
                 Class<?> cls = Class.forName(clsName);
-                return (TextTerminal<?>) cls.newInstance();
-            } catch(Exception e) {
-                logger.warn("Unable to create a TextTerminal of type {}", clsName);
+                return (TextTerminal<?>) cls.getDeclaredConstructor().newInstance();
+            } catch(ReflectiveOperationException | ClassCastException e) {
+                logger.warn("Unable to create a TextTerminal of type {}", clsName, e);
                 return null;
             }
         }
@@ -91,11 +121,52 @@ public class TextIoFactory {
             return null;
         }
 
+        /**
+         * @return the class names listed in the {@link #PROVIDERS_INDEX_RESOURCE}, or null if this resource is not available.
+         */
+        private List<String> getIndexedProviders() {
+            URL indexUrl = TextIoFactory.class.getClassLoader().getResource(PROVIDERS_INDEX_RESOURCE);
+            if(indexUrl == null) return null;
+            List<String> clsNames = new ArrayList<>();
+            try(BufferedReader reader = new BufferedReader(new InputStreamReader(indexUrl.openStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while((line = reader.readLine()) != null) {
+                    int commentPos = line.indexOf('#');
+                    if(commentPos >= 0) line = line.substring(0, commentPos);
+                    line = line.trim();
+                    if(!line.isEmpty()) clsNames.add(line);
+                }
+            } catch (IOException e) {
+                logger.warn("Cannot read the TextTerminalProvider index {}", indexUrl, e);
+                return null;
+            }
+            return clsNames;
+        }
+
+        private TextTerminal<?> getTerminalFromIndex(List<String> clsNames) {
+            for(String clsName : clsNames) {
+                try {
+                    Class<?> cls = Class.forName(clsName);
+                    TextTerminalProvider provider = (TextTerminalProvider) cls.getDeclaredConstructor().newInstance();
+                    TextTerminal<?> t = provider.getTextTerminal();
+                    if(t != null) return t;
+                } catch(ReflectiveOperationException | ClassCastException e) {
+                    logger.warn("Unable to create the TextTerminalProvider {}", clsName, e);
+                } catch(RuntimeException e) {
+                    logger.warn("Unable to use the TextTerminalProvider {}", clsName, e);
+                }
+            }
+            return null;
+        }
+
         private TextTerminal<?> getDefaultTerminal() {
-            TextTerminal<?> terminal = new JLineTextTerminalProvider().getTextTerminal();
-            if(terminal != null) return terminal;
-            terminal = new ConsoleTextTerminalProvider().getTextTerminal();
-            if(terminal != null) return terminal;
+            TextTerminal<?> terminal;
+            if(System.console() != null) {
+                terminal = new JLineTextTerminalProvider().getTextTerminal();
+                if(terminal != null) return terminal;
+                terminal = new ConsoleTextTerminalProvider().getTextTerminal();
+                if(terminal != null) return terminal;
+            }
             terminal = new SwingTextTerminalProvider().getTextTerminal();
             if(terminal != null) return terminal;
             terminal = new SystemTextTerminalProvider().getTextTerminal();
@@ -103,11 +174,58 @@ public class TextIoFactory {
         }
     }
 
+    /**
+     * Creates the global TextIO outside the static initialization of the {@link Holder},
+     * so that a failure to read the answers file does not leave this class unusable.
+     */
+    private static TextIO getGlobalTextIO() {
+        TextIO textIO = globalTextIO;
+        if(textIO == null) {
+            synchronized(TextIoFactory.class) {
+                textIO = globalTextIO;
+                if(textIO == null) {
+                    textIO = new TextIO(Holder.INSTANCE.terminal).withAnswerSource(getAnswerSourceFromProperty());
+                    globalTextIO = textIO;
+                }
+            }
+        }
+        return textIO;
+    }
+
+    private static AnswerSource getAnswerSourceFromProperty() {
+        String fileName = System.getProperty(SYSPROP_ANSWERS_FILE, "").trim();
+        if(fileName.isEmpty()) return null;
+        boolean strict = Boolean.getBoolean(SYSPROP_ANSWERS_STRICT);
+        AnswerSource source;
+        try {
+            source = AnswerSource.fromPropertiesFile(new File(fileName));
+        } catch (UncheckedIOException e) {
+            if(strict) {
+                throw new IllegalStateException("Cannot read the answers file " + fileName + " configured by " + SYSPROP_ANSWERS_FILE, e);
+            }
+            logger.warn("Cannot read the answers file {}. Continuing without answers.", fileName, e);
+            return null;
+        }
+        logger.debug("Using the answers file {}", fileName);
+        return strict ? source.strict() : source;
+    }
+
+    /**
+     * @return the terminal of the {@link TextIoContext} session executed by the current thread, if any,
+     * otherwise the global terminal.
+     */
     public static TextTerminal<?> getTextTerminal() {
-        return Holder.INSTANCE.terminal;
+        TextIO textIO = TextIoContext.getCurrentTextIO();
+        return (textIO != null) ? textIO.getTextTerminal() : Holder.INSTANCE.terminal;
     }
 
+    /**
+     * @return the TextIO of the {@link TextIoContext} session executed by the current thread, if any,
+     * otherwise the global TextIO.
+     * @throws IllegalStateException if the answers file configured for the global TextIO in strict mode cannot be read
+     */
     public static TextIO getTextIO() {
-        return Holder.INSTANCE.textIO;
+        TextIO textIO = TextIoContext.getCurrentTextIO();
+        return (textIO != null) ? textIO : getGlobalTextIO();
     }
 }
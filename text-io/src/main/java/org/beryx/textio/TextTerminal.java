@@ -18,10 +18,9 @@ package org.beryx.textio;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
-import static org.beryx.textio.TerminalProperties.ExtendedChangeListener;
-
 /**
  * Interface for text-based terminals capable of reading (optionally masking the input) and writing text.
  */
@@ -33,6 +32,39 @@ public interface TextTerminal<T extends TextTerminal<T>> {
      */
     String read(boolean masking);
 
+    /**
+     * Reads a line of text that is expected to satisfy the given rules.
+     * Terminals running on a remote client may use the rules in order to reject obviously invalid input without submitting it.
+     * The caller is still responsible for validating the returned text.
+     * The default implementation ignores the rules and calls {@link #read(boolean)}.
+     * @param masking true, if the input should be masked (for example to enter a password)
+     * @param rules the constraints of the input. May be null.
+     * @return the entered text
+     */
+    default String read(boolean masking, InputRules rules) {
+        return read(masking);
+    }
+
+    /**
+     * @return true, if this terminal makes use of the rules passed to {@link #read(boolean, InputRules)} and {@link #readForm(List)}.
+     * Input readers create the rules only for terminals returning true.
+     * The default implementation returns false.
+     */
+    default boolean isInputRulesSupported() {
+        return false;
+    }
+
+    /**
+     * Reads the input strings of several fields in a single operation, for example by displaying them as a form.
+     * Since not all terminals support this feature, the default implementation returns null.
+     * In this case, the {@link Form} reads the fields one by one.
+     * @param fields the descriptions of the fields, including the input strings and the error messages of a previous submission.
+     * @return the input strings of the fields, in the order of the {@code fields} list, or null if the terminal does not support this feature.
+     */
+    default List<String> readForm(List<Form.FieldInput> fields) {
+        return null;
+    }
+
     /**
      * Prints the message in its raw form.
      * This method expects a single line of text.
@@ -146,6 +178,42 @@ public interface TextTerminal<T extends TextTerminal<T>> {
         return false;
     }
 
+    /**
+     * Creates a line that can be repeatedly rewritten in order to display the progress or the status of a long-running task.
+     * The updates of the returned line are rate-limited.
+     * The default implementation returns a {@link ProgressLine} that rewrites the current line by calling {@link #resetLine()}.
+     * Terminals with native support for status lines override this method.
+     */
+    default ProgressLine newProgressLine() {
+        return new ProgressLine(this);
+    }
+
+    /**
+     * Creates a writer for tabular data, which streams the rows to this terminal.
+     * The default implementation returns a {@link TableWriter} that prints each row as a line of padded text.
+     * Terminals able to display tables natively override this method.
+     */
+    default TableWriter newTableWriter() {
+        return new TableWriter(this);
+    }
+
+    /**
+     * Creates a pager that displays the lines provided by the iterators of {@code linesSupplier} one page at a time.
+     * The default implementation returns a {@link Pager}, which clears the previous page if this terminal supports bookmarks.
+     */
+    default Pager newPager(Supplier<? extends Iterator<String>> linesSupplier) {
+        return new Pager(this, linesSupplier);
+    }
+
+    /**
+     * Convenience method that displays the lines provided by the iterators of {@code linesSupplier} one page at a time,
+     * using a {@link Pager} with the default configuration.
+     * @see #newPager(Supplier)
+     */
+    default void page(Supplier<? extends Iterator<String>> linesSupplier) {
+        newPager(linesSupplier).show();
+    }
+
     /**
      * Prints each message in the list in its raw form, inserting the line separator string between messages.
      * No separator string is printed after the last message.
@@ -242,25 +310,14 @@ public interface TextTerminal<T extends TextTerminal<T>> {
      */
     default <R> R applyWithPropertiesConfigurator(Consumer<TerminalProperties<?>> propertiesConfigurator,
                                                   Function<TextTerminal<T>, R> action) {
-        LinkedList<String[]> toRestore = new LinkedList<>();
-        ExtendedChangeListener listener = (term, key, oldVal, newVal) -> {
-            boolean exists = toRestore.stream().filter(e -> e[0].equals(key)).findAny().isPresent();
-            if (!exists) {
-                toRestore.add(new String[]{key, oldVal});
-            }
-        };
+        if(propertiesConfigurator == null) return action.apply(this);
         TerminalProperties<?> props = getProperties();
-        if(propertiesConfigurator != null) {
-            props.addListener(listener);
-            propertiesConfigurator.accept(props);
-        }
+        TerminalProperties.Overlay overlay = props.pushOverlay();
         try {
+            propertiesConfigurator.accept(props);
             return action.apply(this);
         } finally {
-            if(propertiesConfigurator != null) {
-                props.removeListener(listener);
-                toRestore.forEach(pair -> props.put(pair[0], pair[1]));
-            }
+            props.popOverlay(overlay);
         }
     }
 
@@ -294,13 +351,6 @@ public interface TextTerminal<T extends TextTerminal<T>> {
      * @param action the action to be performed on the TextTerminal.
      */
     default void executeWithPropertiesPrefix(String prefix, Consumer<TextTerminal<T>> action) {
-        executeWithPropertiesConfigurator(t -> {
-            Set<String> keys = t.getMatchingKeys(key -> key.startsWith(prefix + "."));
-            int len = prefix.length() + 1;
-            keys.forEach(key -> {
-                String baseKey = key.substring(len);
-                t.put(baseKey, t.getString(key));
-            });
-        }, action);
+        executeWithPropertiesConfigurator(t -> t.putAllWithPrefix(prefix), action);
     }
 }
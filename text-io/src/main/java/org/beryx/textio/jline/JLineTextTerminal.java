@@ -28,7 +28,9 @@ import org.slf4j.LoggerFactory;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.io.IOException;
+import java.io.Writer;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -50,6 +52,7 @@ public class JLineTextTerminal extends AbstractTextTerminal<JLineTextTerminal> {
     private static String ANSI_BOLD = "\u001B[1m";
     private static String ANSI_ITALIC = "\u001B[3m";
     private static String ANSI_UNDERLINE = "\u001B[4m";
+    private static String ANSI_ERASE_TO_LINE_END = "\u001B[K";
 
     private static Map<String, Integer> ANSI_COLOR_MAP = new LinkedHashMap<>();
     static {
@@ -233,7 +236,8 @@ public class JLineTextTerminal extends AbstractTextTerminal<JLineTextTerminal> {
 
     @Override
     public String read(boolean masking) {
-        printAnsi(getAnsiPrefix(inputStyleData));
+        writeAnsi(getAnsiPrefix(inputStyleData));
+        syncLineState();
         try {
             String prefix = "";
             Character mask = masking ? '*' : null;
@@ -262,26 +266,76 @@ public class JLineTextTerminal extends AbstractTextTerminal<JLineTextTerminal> {
 
     @Override
     public void rawPrint(String message) {
+        writeAnsi(getStyledMessage(message));
+        flushOutput();
+    }
+
+    /**
+     * Writes all messages before flushing the output, instead of flushing once per message.
+     */
+    @Override
+    public void rawPrint(List<String> messages) {
+        if(messages == null || messages.isEmpty()) return;
+        writeAnsi(getStyledMessage(messages.get(0)));
+        for(String message : messages.subList(1, messages.size())) {
+            writeLineSeparator();
+            writeAnsi(getStyledMessage(message));
+        }
+        flushOutput();
+    }
+
+    private String getStyledMessage(String message) {
         String msgPrefix = "";
         if(moveToLineStartRequired) {
             moveToLineStartRequired = false;
             msgPrefix = "\r";
         }
-        printAnsi(getAnsiPrefix(promptStyleData) + msgPrefix + message + ANSI_RESET);
+        return getAnsiPrefix(promptStyleData) + msgPrefix + message + ANSI_RESET;
     }
 
     public void printAnsi(String message) {
+        writeAnsi(message);
+        flushOutput();
+    }
+
+    /**
+     * Appends the message to the output stream of the {@link ConsoleReader}, without flushing it.
+     * The prompt of the reader is not involved, so no line redraw takes place.
+     */
+    private void writeAnsi(String message) {
         try {
-            reader.setPrompt(message);
-            reader.drawLine();
-            reader.flush();
+            Writer out = reader.getOutput();
+            out.write(message);
         } catch (IOException e) {
             logger.error("print error.", e);
-        } finally {
-            reader.setPrompt(null);
         }
     }
 
+    private void writeLineSeparator() {
+        try {
+            reader.println();
+        } catch (IOException e) {
+            logger.error("println error.", e);
+        }
+    }
+
+    private void flushOutput() {
+        try {
+            reader.flush();
+        } catch (IOException e) {
+            logger.error("flush error.", e);
+        }
+    }
+
+    /**
+     * Brings the line state of the {@link ConsoleReader} in sync with the text written through {@link #writeAnsi(String)}.
+     * Since the output bypasses the reader, it only has to be flushed and the reader should not see a stale prompt.
+     */
+    private void syncLineState() {
+        flushOutput();
+        reader.setPrompt(null);
+    }
+
     public String getAnsiPrefix(StyleData styleData) {
         return styleData.ansiColor +
                 styleData.ansiBackgroundColor +
@@ -292,17 +346,14 @@ public class JLineTextTerminal extends AbstractTextTerminal<JLineTextTerminal> {
 
     @Override
     public void println() {
-        try {
-            reader.println();
-            reader.flush();
-        } catch (IOException e) {
-            logger.error("println error.", e);
-        }
+        writeLineSeparator();
+        flushOutput();
     }
 
     @Override
     public boolean resetLine() {
         try {
+            syncLineState();
             reader.resetPromptLine("", "", 0);
             return true;
         } catch (IOException e) {
@@ -313,10 +364,26 @@ public class JLineTextTerminal extends AbstractTextTerminal<JLineTextTerminal> {
 
     @Override
     public boolean moveToLineStart() {
+        syncLineState();
         moveToLineStartRequired = true;
         return true;
     }
 
+    /**
+     * Returns a progress line that is rewritten using a carriage return followed by the text and the ANSI sequence for erasing the rest of the line.
+     * Each update is written in a single operation, without redrawing the line of the {@link ConsoleReader}.
+     */
+    @Override
+    public ProgressLine newProgressLine() {
+        return new ProgressLine(this) {
+            @Override
+            protected void render(String text) {
+                syncLineState();
+                printAnsi("\r" + getAnsiPrefix(promptStyleData) + text + ANSI_RESET + ANSI_ERASE_TO_LINE_END);
+            }
+        };
+    }
+
     @Override
     public boolean registerUserInterruptHandler(Consumer<JLineTextTerminal> handler, boolean abortRead) {
         this.userInterruptHandler = (handler != null) ? handler : DEFAULT_USER_INTERRUPT_HANDLER;
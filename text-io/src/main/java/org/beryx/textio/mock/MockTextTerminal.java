@@ -22,15 +22,21 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
  * A mock terminal for test purposes.
+ * <br>Test suites performing a large number of read operations should use a {@link StreamingMockTextTerminal} instead.
  */
 @PropertiesPrefixes({"mock"})
 public class MockTextTerminal extends AbstractTextTerminal<MockTextTerminal> {
     public static final int DEFAULT_MAX_READS = 100;
 
+    private static final Pattern LINE_SEPARATOR = Pattern.compile("\\R");
+    private static final Pattern TAB = Pattern.compile("\\t");
+    private static final Pattern SURROUNDING_WHITESPACE = Pattern.compile("^\\s+|\\s+$");
+
     private int maxReads = DEFAULT_MAX_READS;
     private final List<String> inputs = new ArrayList<>();
     private int inputIndex = -1;
@@ -64,6 +70,16 @@ public class MockTextTerminal extends AbstractTextTerminal<MockTextTerminal> {
         return stripAll(outputBuilder.toString());
     }
 
+    /**
+     * Clears the inputs and the output, so that this terminal can be reused.
+     * The terminal properties and the bookmarks are not affected.
+     */
+    public void reset() {
+        inputs.clear();
+        inputIndex = -1;
+        outputBuilder.setLength(0);
+    }
+
     public int getReadCalls() {
         return inputIndex + 1;
     }
@@ -78,9 +94,9 @@ public class MockTextTerminal extends AbstractTextTerminal<MockTextTerminal> {
 
     public static String stripAll(String text) {
         if(text == null) return null;
-        return Arrays.stream(text.split("\\R"))
-                .map(s -> s.replaceAll("\\t", ""))
-                .map(s -> s.replaceAll("^\\s+|\\s+$", ""))
+        return Arrays.stream(LINE_SEPARATOR.split(text))
+                .map(s -> TAB.matcher(s).replaceAll(""))
+                .map(s -> SURROUNDING_WHITESPACE.matcher(s).replaceAll(""))
                 .filter(s -> !s.isEmpty())
                 .collect(Collectors.joining("\n"));
     }
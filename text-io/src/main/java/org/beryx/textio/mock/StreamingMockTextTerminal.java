@@ -0,0 +1,310 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.beryx.textio.mock;
+
+import org.beryx.textio.AbstractTextTerminal;
+import org.beryx.textio.InputReader;
+import org.beryx.textio.PropertiesPrefixes;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * A mock terminal for test suites that perform a large number of read operations.
+ * <br>Unlike {@link MockTextTerminal}, it does not keep all inputs and the entire output in memory:
+ * <ul>
+ *     <li>the inputs are pulled on demand from an {@link Iterator} or a {@link Supplier};</li>
+ *     <li>the output is recorded as a transcript of {@link Event}s (prompts, inputs, error messages and other printed text),
+ *     which is kept in a ring buffer holding only the most recent events.
+ *     Evicted events can be optionally appended to a spill file.</li>
+ * </ul>
+ * Each event has a sequence number, which allows incremental assertions: remember the value of {@link #getEventCount()}
+ * and later inspect only the events recorded after it, by calling {@link #getEventsSince(long)}.
+ * <br>The text of an event is trimmed and output consisting only of whitespace is not recorded.
+ * The text printed before a read operation on the current line is recorded as a {@link EventType#PROMPT PROMPT}.
+ * The text printed by an {@link InputReader} using the {@value InputReader#PROPS_PREFIX_ERROR_MESSAGE} properties prefix
+ * is recorded as an {@link EventType#ERROR ERROR}.
+ */
+@PropertiesPrefixes({"mock"})
+public class StreamingMockTextTerminal extends AbstractTextTerminal<StreamingMockTextTerminal> implements Closeable {
+    public static final int DEFAULT_TRANSCRIPT_CAPACITY = 1024;
+
+    /** The terminal property that identifies the type of the printed text. It is set to {@code error} while error messages are printed. */
+    public static final String PROP_EVENT_TYPE = "mock.event.type";
+
+    public enum EventType {PROMPT, INPUT, ERROR, PRINT}
+
+    /**
+     * An entry in the transcript of this terminal.
+     */
+    public static final class Event {
+        private final long sequence;
+        private final EventType type;
+        private final String text;
+
+        public Event(long sequence, EventType type, String text) {
+            this.sequence = sequence;
+            this.type = type;
+            this.text = text;
+        }
+
+        /** @return the position of this event in the transcript, starting with 0. */
+        public long getSequence() {
+            return sequence;
+        }
+
+        public EventType getType() {
+            return type;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        @Override
+        public String toString() {
+            return type + ": " + text;
+        }
+    }
+
+    private final Supplier<String> inputSupplier;
+    private long maxReads = Long.MAX_VALUE;
+    private long readCalls;
+
+    private Event[] events = new Event[DEFAULT_TRANSCRIPT_CAPACITY];
+    private long eventCount;
+    private BufferedWriter spillWriter;
+
+    private final StringBuilder pendingText = new StringBuilder();
+    private EventType pendingType = EventType.PRINT;
+
+    /**
+     * @param inputs the provider of the input strings.
+     */
+    public StreamingMockTextTerminal(Iterator<String> inputs) {
+        this(() -> inputs.hasNext() ? inputs.next() : null);
+    }
+
+    /**
+     * @param inputSupplier the provider of the input strings. It should return null when no more inputs are available.
+     */
+    public StreamingMockTextTerminal(Supplier<String> inputSupplier) {
+        this.inputSupplier = inputSupplier;
+        String errorTypeKey = InputReader.PROPS_PREFIX_ERROR_MESSAGE + "." + PROP_EVENT_TYPE;
+        addDefaultProperty(errorTypeKey, "error");
+        getProperties().put(errorTypeKey, "error");
+    }
+
+    /**
+     * Configures the maximum number of read calls. Further read calls throw an exception.
+     * Useful for detecting endless read loops. Default: unlimited.
+     */
+    public StreamingMockTextTerminal withMaxReads(long maxReads) {
+        this.maxReads = maxReads;
+        return this;
+    }
+
+    /**
+     * Configures the number of most recent events kept in memory. The current transcript is discarded.
+     * Default: {@value #DEFAULT_TRANSCRIPT_CAPACITY}
+     */
+    public StreamingMockTextTerminal withTranscriptCapacity(int capacity) {
+        if(capacity <= 0) throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        this.events = new Event[capacity];
+        this.eventCount = 0;
+        return this;
+    }
+
+    /**
+     * Configures a file to which the events evicted from the ring buffer are appended,
+     * one per line, in the format {@code sequence<TAB>type<TAB>text}.
+     * Backslashes and line separators in the text are escaped. The file is closed by {@link #close()}.
+     * @throws UncheckedIOException if the file cannot be opened.
+     */
+    public StreamingMockTextTerminal withSpillFile(Path file) {
+        try {
+            close();
+            spillWriter = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the spill file " + file, e);
+        }
+        return this;
+    }
+
+    @Override
+    public String read(boolean masking) {
+        if(readCalls >= maxReads) throw new RuntimeException("Too many read calls");
+        flushPendingText(true);
+        String val = inputSupplier.get();
+        if(val == null) throw new IllegalStateException("No more inputs available after " + readCalls + " read calls");
+        readCalls++;
+        addEvent(EventType.INPUT, val);
+        return val;
+    }
+
+    @Override
+    public void rawPrint(String message) {
+        appendPendingText(message);
+    }
+
+    @Override
+    public void println() {
+        appendPendingText("\n");
+    }
+
+    private void appendPendingText(String text) {
+        EventType type = EventType.ERROR.name().equalsIgnoreCase(getProperties().getString(PROP_EVENT_TYPE))
+                ? EventType.ERROR : EventType.PRINT;
+        if(type != pendingType) {
+            flushPendingText(false);
+            pendingType = type;
+        }
+        pendingText.append(text);
+    }
+
+    /**
+     * Records the pending text as an event.
+     * @param beforeRead true, if a read operation follows. In this case, the text on the current line is recorded as a prompt.
+     */
+    private void flushPendingText(boolean beforeRead) {
+        if(pendingText.length() == 0) return;
+        if(beforeRead) {
+            int promptStart = pendingText.lastIndexOf("\n") + 1;
+            addEvent(pendingType, pendingText.substring(0, promptStart));
+            addEvent(EventType.PROMPT, pendingText.substring(promptStart));
+        } else {
+            addEvent(pendingType, pendingText.toString());
+        }
+        pendingText.setLength(0);
+    }
+
+    private void addEvent(EventType type, String text) {
+        String trimmedText = text.trim();
+        if(trimmedText.isEmpty() && type != EventType.INPUT) return;
+        int pos = (int)(eventCount % events.length);
+        Event evicted = events[pos];
+        if(evicted != null && spillWriter != null) spill(evicted);
+        events[pos] = new Event(eventCount, type, trimmedText);
+        eventCount++;
+    }
+
+    private void spill(Event event) {
+        String text = event.text.replace("\\", "\\\\").replace("\n", "\\n").replace("\r", "\\r");
+        try {
+            spillWriter.write(event.sequence + "\t" + event.type + "\t" + text);
+            spillWriter.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write to the spill file", e);
+        }
+    }
+
+    /** @return the number of read calls. */
+    public long getReadCalls() {
+        return readCalls;
+    }
+
+    /** @return the total number of events recorded, including those evicted from the ring buffer. */
+    public long getEventCount() {
+        flushPendingText(false);
+        return eventCount;
+    }
+
+    /** @return the events still held by the ring buffer, in chronological order. */
+    public List<Event> getEvents() {
+        return getEventsSince(Math.max(0, getEventCount() - events.length));
+    }
+
+    /**
+     * @param sequence the sequence number of the first requested event, typically a value previously returned by {@link #getEventCount()}.
+     * @return the events with a sequence number greater than or equal to {@code sequence}, in chronological order.
+     * @throws IllegalArgumentException if some of the requested events have already been evicted from the ring buffer.
+     */
+    public List<Event> getEventsSince(long sequence) {
+        long count = getEventCount();
+        long oldest = Math.max(0, count - events.length);
+        if(sequence < oldest) {
+            throw new IllegalArgumentException("The events before " + oldest + " have been evicted from the transcript. Requested: " + sequence);
+        }
+        List<Event> result = new ArrayList<>((int)Math.max(0, count - sequence));
+        for(long seq = sequence; seq < count; seq++) {
+            result.add(events[(int)(seq % events.length)]);
+        }
+        return result;
+    }
+
+    /**
+     * @return the events of the given type with a sequence number greater than or equal to {@code sequence}.
+     * @see #getEventsSince(long)
+     */
+    public List<Event> getEventsSince(long sequence, EventType type) {
+        List<Event> result = new ArrayList<>();
+        for(Event event : getEventsSince(sequence)) {
+            if(event.type == type) result.add(event);
+        }
+        return result;
+    }
+
+    /** @return the most recent event, or null if the transcript is empty. */
+    public Event getLastEvent() {
+        long count = getEventCount();
+        return (count == 0) ? null : events[(int)((count - 1) % events.length)];
+    }
+
+    /**
+     * Clears the transcript and the read counter, so that this terminal can be reused.
+     * The input supplier is not affected.
+     */
+    public void reset() {
+        pendingText.setLength(0);
+        pendingType = EventType.PRINT;
+        Arrays.fill(events, null);
+        eventCount = 0;
+        readCalls = 0;
+    }
+
+    @Override
+    public void dispose(String resultData) {
+        flushPendingText(false);
+        if(spillWriter != null) {
+            try {
+                spillWriter.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write to the spill file", e);
+            }
+        }
+    }
+
+    /**
+     * Closes the spill file, if any.
+     */
+    @Override
+    public void close() throws IOException {
+        if(spillWriter != null) {
+            spillWriter.close();
+            spillWriter = null;
+        }
+    }
+}
@@ -29,13 +29,23 @@ import java.awt.event.ActionEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.awt.event.WindowListener;
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -69,8 +79,18 @@ public class SwingTextTerminal extends AbstractTextTerminal<SwingTextTerminal> {
     private int overwriteOffset = -1;
 
     private final Map<String, Integer> bookmarkOffsets = new HashMap<>();
+    private final List<DocumentRegionProgressLine> progressLines = new ArrayList<>();
+
+    private volatile int maxLines = -1;
+    private volatile int maxChars = -1;
+    private volatile String historyFile;
+    private Writer historyWriter;
 
     private final Object editLock = new Object();
+
+    private final Object updatesLock = new Object();
+    private List<PendingUpdate> pendingUpdates = new ArrayList<>();
+    private boolean drainScheduled = false;
     private volatile boolean readMode = false;
     private volatile boolean fakeReadMode = false;
     private volatile boolean inputMasking = false;
@@ -108,10 +128,56 @@ public class SwingTextTerminal extends AbstractTextTerminal<SwingTextTerminal> {
         String fontFamily = "Courier New";
         int fontSize = DEFAULT_FONT_SIZE;
 
+        /** Incremented each time an update actually changes the style. */
+        private int version;
+        private String styleName;
+        private StyleData snapshot;
+
+        /**
+         * Changes this style data. The version is incremented only if the resulting style differs from the current one.
+         */
+        void update(Consumer<StyleData> updater) {
+            String oldStyleName = getStyleName();
+            updater.accept(this);
+            styleName = null;
+            if(!getStyleName().equals(oldStyleName)) {
+                version++;
+            }
+        }
+
+        /**
+         * @return an unmodifiable copy of the current version of this style data, which is reused until the next change.
+         */
+        StyleData getSnapshot() {
+            if(snapshot == null || snapshot.version != version) {
+                snapshot = copy();
+                snapshot.version = version;
+            }
+            return snapshot;
+        }
+
+        private StyleData copy() {
+            StyleData data = new StyleData();
+            data.color = color;
+            data.bgColor = bgColor;
+            data.bold = bold;
+            data.italic = italic;
+            data.underline = underline;
+            data.strikeThrough = strikeThrough;
+            data.subscript = subscript;
+            data.superscript = superscript;
+            data.fontFamily = fontFamily;
+            data.fontSize = fontSize;
+            return data;
+        }
+
         public String getStyleName() {
-            return Stream.of(id(color), id(bgColor), id(bold), id(italic), id(underline),
-                    id(strikeThrough), id(subscript), id(superscript), fontFamily, "" + fontSize)
-                    .collect(Collectors.joining("|"));
+            if(styleName == null) {
+                styleName = Stream.of(id(color), id(bgColor), id(bold), id(italic), id(underline),
+                        id(strikeThrough), id(subscript), id(superscript), fontFamily, "" + fontSize)
+                        .collect(Collectors.joining("|"));
+            }
+            return styleName;
         }
         private static String id(Color color) {
             return (color == null) ? "*" : ("" + color.getRGB());
@@ -122,6 +188,45 @@ public class SwingTextTerminal extends AbstractTextTerminal<SwingTextTerminal> {
     }
 
 
+    /**
+     * A document update waiting to be applied on the event dispatch thread.
+     * It either holds an action or a text fragment. Consecutive text fragments with the same style are merged.
+     */
+    private static class PendingUpdate {
+        final Runnable action;
+        final StyleData styleData;
+        final String styleName;
+        final boolean resetOverwrite;
+        final StringBuilder text;
+
+        /** The index in {@link #text} where a new line starts (i.e. the position after a {@link #println()}), or -1. */
+        int lineStartIndex = -1;
+
+        PendingUpdate(Runnable action) {
+            this.action = action;
+            this.styleData = null;
+            this.styleName = null;
+            this.resetOverwrite = false;
+            this.text = null;
+        }
+
+        PendingUpdate(String text, StyleData styleData, boolean resetOverwrite) {
+            this.action = null;
+            this.styleData = styleData.getSnapshot();
+            this.styleName = this.styleData.getStyleName();
+            this.resetOverwrite = resetOverwrite;
+            this.text = new StringBuilder(text);
+        }
+
+        /**
+         * A text fragment that resets the overwrite offset can only be merged into a fragment that did the same,
+         * because only then the overwrite offset is already -1 when the fragment would have been applied.
+         */
+        boolean canMerge(String styleName, boolean resetOverwrite) {
+            return (action == null) && this.styleName.equals(styleName) && (!resetOverwrite || this.resetOverwrite);
+        }
+    }
+
     @FunctionalInterface
     private interface TextChanger {
         void changeText(String text) throws BadLocationException;
@@ -228,6 +333,9 @@ public class SwingTextTerminal extends AbstractTextTerminal<SwingTextTerminal> {
         props.addStringListener(PROP_PANE_ICON_URL, null, (term, newVal) -> setPaneIconUrl(newVal));
         props.addStringListener(PROP_PANE_ICON_FILE, null, (term, newVal) -> setPaneIconFile(newVal));
         props.addStringListener(PROP_PANE_ICON_RESOURCE, null, (term, newVal) -> setPaneIconResource(newVal));
+        props.addIntListener(PROP_PANE_MAX_LINES, -1, (term, newVal) -> setPaneMaxLines(newVal));
+        props.addIntListener(PROP_PANE_MAX_CHARS, -1, (term, newVal) -> setPaneMaxChars(newVal));
+        props.addStringListener(PROP_PANE_HISTORY_FILE, null, (term, newVal) -> setPaneHistoryFile(newVal));
 
         props.addStringListener(PROP_PROMPT_COLOR, null, (term, newVal) -> setPromptColor(newVal));
         props.addStringListener(PROP_PROMPT_BGCOLOR, null, (term, newVal) -> setPromptBackgroundColor(newVal));
@@ -253,8 +361,8 @@ public class SwingTextTerminal extends AbstractTextTerminal<SwingTextTerminal> {
         textPane = new JTextPane();
 
         textPane.setBackground(DEFAULT_PANE_BACKGROUND);
-        promptStyleData.color = DEFAULT_PROMPT_COLOR;
-        inputStyleData.color = DEFAULT_INPUT_COLOR;
+        promptStyleData.update(data -> data.color = DEFAULT_PROMPT_COLOR);
+        inputStyleData.update(data -> data.color = DEFAULT_INPUT_COLOR);
         textPane.setCaretColor(inputStyleData.color);
 
         document = textPane.getStyledDocument();
@@ -337,6 +445,7 @@ public class SwingTextTerminal extends AbstractTextTerminal<SwingTextTerminal> {
     public String read(boolean masking) {
         rawPrint(ZERO_WIDTH_SPACE, inputStyleData);
         display();
+        flushPendingUpdates();
         try {
             synchronized (editLock) {
                 startReadLen = document.getLength();
@@ -346,6 +455,7 @@ public class SwingTextTerminal extends AbstractTextTerminal<SwingTextTerminal> {
                     inputMasking = masking;
                     fakeReadMode = true;
                     plainOverwriteCurrentLine(unmaskedInput, inputStyleData);
+                    textPane.setCaretPosition(document.getLength());
                     fakeReadMode = false;
                 }
                 inputMasking = masking;
@@ -390,24 +500,187 @@ public class SwingTextTerminal extends AbstractTextTerminal<SwingTextTerminal> {
 
     @Override
     public void println() {
-        overwriteOffset = -1;
-        rawPrint("\n");
-        startLineOffset = document.getLength();
+        display();
+        enqueueText("\n", promptStyleData, true, true);
     }
 
     @Override
     public void rawPrint(String message) {
         display();
-        synchronized (editLock) {
-            plainOverwriteCurrentLine(message, promptStyleData);
-        }
+        enqueueText(message, promptStyleData, false, false);
     }
 
     private void rawPrint(String message, StyleData styleData) {
         display();
+        enqueueText(message, styleData, true, false);
+    }
+
+    private void enqueueText(String message, StyleData styleData, boolean resetOverwrite, boolean newLine) {
+        String styleName = styleData.getSnapshot().getStyleName();
+        synchronized (updatesLock) {
+            PendingUpdate last = pendingUpdates.isEmpty() ? null : pendingUpdates.get(pendingUpdates.size() - 1);
+            if(last != null && last.canMerge(styleName, resetOverwrite)) {
+                last.text.append(message);
+            } else {
+                last = new PendingUpdate(message, styleData, resetOverwrite);
+                pendingUpdates.add(last);
+            }
+            if(newLine) {
+                last.lineStartIndex = last.text.length();
+            }
+            scheduleDrain();
+        }
+    }
+
+    private void enqueueAction(Runnable action) {
+        synchronized (updatesLock) {
+            pendingUpdates.add(new PendingUpdate(action));
+            scheduleDrain();
+        }
+    }
+
+    private void scheduleDrain() {
+        if(!drainScheduled) {
+            drainScheduled = true;
+            SwingUtilities.invokeLater(this::drainPendingUpdates);
+        }
+    }
+
+    /**
+     * Enqueues an update and waits until all pending updates, including this one, have been applied.
+     * @return the result of the update
+     */
+    private boolean applyAndWait(BooleanSupplier update) {
+        boolean[] result = {false};
+        enqueueAction(() -> result[0] = update.getAsBoolean());
+        flushPendingUpdates();
+        return result[0];
+    }
+
+    /**
+     * Applies all pending document updates and waits for their completion.
+     * The updates are applied on the event dispatch thread, unless the current thread already holds the edit lock
+     * (for example while executing a handler during a read operation), in which case they are applied right away.
+     */
+    public void flushPendingUpdates() {
+        if(SwingUtilities.isEventDispatchThread() || Thread.holdsLock(editLock)) {
+            drainPendingUpdates();
+            return;
+        }
+        try {
+            SwingUtilities.invokeAndWait(this::drainPendingUpdates);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (InvocationTargetException e) {
+            logger.error("Cannot apply document updates", e.getCause());
+        }
+    }
+
+    private void drainPendingUpdates() {
         synchronized (editLock) {
+            List<PendingUpdate> updates;
+            synchronized (updatesLock) {
+                updates = pendingUpdates;
+                pendingUpdates = new ArrayList<>();
+                drainScheduled = false;
+            }
+            if(updates.isEmpty()) return;
+            for(PendingUpdate update : updates) {
+                if(update.action != null) {
+                    update.action.run();
+                } else {
+                    applyText(update);
+                }
+            }
+            trimDocument();
+            textPane.setCaretPosition(document.getLength());
+        }
+    }
+
+    /**
+     * Removes the oldest lines of the document if it exceeds {@link #maxLines} or {@link #maxChars}.
+     * In order to avoid trimming after each batch, the document is trimmed to 90% of the configured limits.
+     * All offsets that refer to the document are rebased accordingly.
+     * Bookmarks and progress line regions that pointed into the removed text are discarded.
+     */
+    private void trimDocument() {
+        int cut = 0;
+        Element root = document.getDefaultRootElement();
+        int lineCount = root.getElementCount();
+        if(maxLines > 0 && lineCount > maxLines) {
+            int keptLines = Math.max(1, maxLines - maxLines / 10);
+            cut = root.getElement(lineCount - keptLines).getStartOffset();
+        }
+        int len = document.getLength();
+        if(maxChars > 0 && len > maxChars) {
+            int charCut = len - Math.max(1, maxChars - maxChars / 10);
+            Element line = root.getElement(root.getElementIndex(charCut));
+            if(line.getStartOffset() < charCut) {
+                charCut = Math.min(line.getEndOffset(), len);
+            }
+            cut = Math.max(cut, charCut);
+        }
+        if(readMode || fakeReadMode) {
+            cut = Math.min(cut, startReadLen);
+        }
+        if(cut <= 0) return;
+
+        AbstractDocument doc = (AbstractDocument) document;
+        DocumentFilter filter = doc.getDocumentFilter();
+        try {
+            spillToHistory(document.getText(0, cut));
+            doc.setDocumentFilter(null);
+            doc.remove(0, cut);
+        } catch (BadLocationException e) {
+            logger.error("Cannot trim document", e);
+            return;
+        } finally {
+            doc.setDocumentFilter(filter);
+        }
+        int removedLen = cut;
+        startReadLen = Math.max(0, startReadLen - removedLen);
+        startLineOffset = Math.max(0, startLineOffset - removedLen);
+        if(overwriteOffset >= 0) {
+            overwriteOffset = Math.max(0, overwriteOffset - removedLen);
+        }
+        bookmarkOffsets.values().removeIf(offset -> offset < removedLen);
+        bookmarkOffsets.replaceAll((bookmark, offset) -> offset - removedLen);
+        progressLines.removeIf(progressLine -> !progressLine.rebase(removedLen));
+    }
+
+    private void spillToHistory(String text) {
+        String path = historyFile;
+        if(path == null || path.isEmpty()) return;
+        try {
+            if(historyWriter == null) {
+                historyWriter = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(path, true), StandardCharsets.UTF_8));
+            }
+            historyWriter.write(text.replace(ZERO_WIDTH_SPACE, ""));
+            historyWriter.flush();
+        } catch (IOException e) {
+            logger.warn("Cannot write history to " + path, e);
+            closeHistoryWriter();
+        }
+    }
+
+    private void closeHistoryWriter() {
+        if(historyWriter != null) {
+            try {
+                historyWriter.close();
+            } catch (IOException e) {
+                logger.warn("Cannot close history file " + historyFile, e);
+            }
+            historyWriter = null;
+        }
+    }
+
+    private void applyText(PendingUpdate update) {
+        if(update.resetOverwrite) {
             overwriteOffset = -1;
-            plainOverwriteCurrentLine(message, styleData);
+        }
+        plainOverwriteCurrentLine(update.text.toString(), update.styleData);
+        if(update.lineStartIndex >= 0) {
+            startLineOffset = document.getLength() - (update.text.length() - update.lineStartIndex);
         }
     }
 
@@ -430,7 +703,6 @@ public class SwingTextTerminal extends AbstractTextTerminal<SwingTextTerminal> {
             boolean resultInsert = plainInsertMessage(message, styleData);
             result = resultRemove && resultInsert;
         }
-        textPane.setCaretPosition(document.getLength());
         return result;
     }
 
@@ -495,53 +767,135 @@ public class SwingTextTerminal extends AbstractTextTerminal<SwingTextTerminal> {
 
     @Override
     public boolean resetLine() {
-        return resetToOffset(startLineOffset);
+        display();
+        enqueueAction(() -> removeFromOffset(startLineOffset));
+        return true;
     }
 
     @Override
     public boolean moveToLineStart() {
-        overwriteOffset = startLineOffset;
+        enqueueAction(() -> overwriteOffset = startLineOffset);
         return true;
     }
 
     @Override
     public boolean setBookmark(String bookmark) {
-        bookmarkOffsets.put(bookmark, document.getLength());
+        enqueueAction(() -> bookmarkOffsets.put(bookmark, document.getLength()));
         return true;
     }
 
     @Override
     public boolean resetToBookmark(String bookmark) {
-        int offset = getBookmarkOffset(bookmark);
-        return resetToOffset(offset);
+        display();
+        return applyAndWait(() -> removeFromOffset(bookmarkOffsets.getOrDefault(bookmark, -1)));
+    }
+
+    /**
+     * Returns a progress line whose text occupies a region of the document.
+     * Each update replaces only the text of this region.
+     */
+    @Override
+    public ProgressLine newProgressLine() {
+        return new DocumentRegionProgressLine();
+    }
+
+    private class DocumentRegionProgressLine extends ProgressLine {
+        /** The start offset of the region or -1, if the region has not been created yet. Accessed only while holding the edit lock. */
+        private int regionStart = -1;
+        private int regionLength;
+
+        DocumentRegionProgressLine() {
+            super(SwingTextTerminal.this);
+        }
+
+        @Override
+        protected void render(String text) {
+            display();
+            StyleData styleData = promptStyleData.getSnapshot();
+            enqueueAction(() -> replaceRegion(text, styleData));
+        }
+
+        @Override
+        protected void finish(String text) {
+            if(!isRendered() || !text.equals(getRenderedText())) {
+                render(text);
+            }
+            enqueueAction(() -> progressLines.remove(this));
+            println();
+        }
+
+        private void replaceRegion(String text, StyleData styleData) {
+            int docLen = document.getLength();
+            if(regionStart < 0 || regionStart + regionLength > docLen) {
+                regionStart = docLen;
+                regionLength = 0;
+                if(!progressLines.contains(this)) progressLines.add(this);
+            }
+            int oldStartReadLen = startReadLen;
+            if(startReadLen > regionStart) {
+                startReadLen = regionStart;
+            }
+            try {
+                document.remove(regionStart, regionLength);
+                document.insertString(regionStart, text, document.getStyle(getStyle(styleData)));
+                if(oldStartReadLen > regionStart) {
+                    oldStartReadLen += text.length() - regionLength;
+                }
+                regionLength = text.length();
+            } catch (BadLocationException e) {
+                logger.error("Cannot update progress line", e);
+            } finally {
+                startReadLen = oldStartReadLen;
+            }
+        }
+
+        /**
+         * @return false, if the region of this progress line has been trimmed away.
+         * In this case, the next update creates a new region at the end of the document.
+         */
+        private boolean rebase(int removedLen) {
+            if(regionStart < 0) return false;
+            if(regionStart < removedLen) {
+                regionStart = -1;
+                regionLength = 0;
+                return false;
+            }
+            regionStart -= removedLen;
+            return true;
+        }
     }
 
     public int getBookmarkOffset(String bookmark) {
-        return bookmarkOffsets.getOrDefault(bookmark, -1);
+        flushPendingUpdates();
+        synchronized (editLock) {
+            return bookmarkOffsets.getOrDefault(bookmark, -1);
+        }
     }
 
     public boolean resetToOffset(int offset) {
         if(offset < 0) return false;
         display();
-        synchronized (editLock) {
-            boolean result = true;
-            int len = document.getLength() - offset;
-            if(len > 0) {
-                int oldStartReadLen = startReadLen;
-                if(startReadLen > offset) {
-                    startReadLen = offset;
-                }
-                try {
-                    document.remove(offset, len);
-                } catch (BadLocationException e) {
-                    logger.error("Cannot reset to offset " + offset, e);
-                    startReadLen = oldStartReadLen;
-                    result = false;
-                }
-                textPane.setCaretPosition(document.getLength());
+        return applyAndWait(() -> removeFromOffset(offset));
+    }
+
+    private boolean removeFromOffset(int offset) {
+        if(offset < 0) return false;
+        boolean result = true;
+        int len = document.getLength() - offset;
+        if(len > 0) {
+            int oldStartReadLen = startReadLen;
+            if(startReadLen > offset) {
+                startReadLen = offset;
+            }
+            try {
+                document.remove(offset, len);
+            } catch (BadLocationException e) {
+                logger.error("Cannot reset to offset " + offset, e);
+                startReadLen = oldStartReadLen;
+                result = false;
             }
-            return result;
         }
+        return result;
     }
 
     public void display() {
@@ -557,6 +911,7 @@ public class SwingTextTerminal extends AbstractTextTerminal<SwingTextTerminal> {
     @Override
     public void dispose(String resultData) {
         frame.dispose();
+        closeHistory();
         if(resultData != null && !resultData.isEmpty()) {
             logger.info("Disposed with resultData: {}.", resultData);
         }
@@ -565,6 +920,13 @@ public class SwingTextTerminal extends AbstractTextTerminal<SwingTextTerminal> {
     @Override
     public void abort() {
         frame.dispose();
+        closeHistory();
+    }
+
+    private void closeHistory() {
+        synchronized (editLock) {
+            closeHistoryWriter();
+        }
     }
 
     @Override
@@ -618,14 +980,16 @@ public class SwingTextTerminal extends AbstractTextTerminal<SwingTextTerminal> {
         return true;
     }
 
+    /**
+     * Returns the name of the document style corresponding to the given style data.
+     * The style name encodes all attributes, therefore the attributes are set only when the style is created.
+     */
     public String getStyle(StyleData styleData) {
         String styleName = styleData.getStyleName();
-        Style style = document.getStyle(styleName);
-        if (style == null) {
-            Style defaultStyle = StyleContext.getDefaultStyleContext().getStyle(StyleContext.DEFAULT_STYLE);
-            style = document.addStyle(styleName, defaultStyle);
-        }
+        if(document.getStyle(styleName) != null) return styleName;
 
+        Style defaultStyle = StyleContext.getDefaultStyleContext().getStyle(StyleContext.DEFAULT_STYLE);
+        Style style = document.addStyle(styleName, defaultStyle);
         if(styleData.fontFamily != null) {
             StyleConstants.setFontFamily(style, styleData.fontFamily);
         }
@@ -649,78 +1013,78 @@ public class SwingTextTerminal extends AbstractTextTerminal<SwingTextTerminal> {
     }
 
     public void setPromptColor(String colorName) {
-        getColor(colorName).ifPresent(col -> promptStyleData.color = col);
+        getColor(colorName).ifPresent(col -> promptStyleData.update(data -> data.color = col));
     }
 
     public void setPromptBackgroundColor(String colorName) {
-        getColor(colorName).ifPresent(col -> promptStyleData.bgColor = col);
+        getColor(colorName).ifPresent(col -> promptStyleData.update(data -> data.bgColor = col));
     }
 
     public void setPromptFontFamily(String fontFamily) {
-        promptStyleData.fontFamily = fontFamily;
+        promptStyleData.update(data -> data.fontFamily = fontFamily);
     }
 
     public void setPromptFontSize(int fontSize) {
-        promptStyleData.fontSize = fontSize;
+        promptStyleData.update(data -> data.fontSize = fontSize);
     }
 
     public void setPromptBold(boolean bold) {
-        promptStyleData.bold = bold;
+        promptStyleData.update(data -> data.bold = bold);
     }
 
     public void setPromptItalic(boolean italic) {
-        promptStyleData.italic = italic;
+        promptStyleData.update(data -> data.italic = italic);
     }
 
     public void setPromptUnderline(boolean underline) {
-        promptStyleData.underline = underline;
+        promptStyleData.update(data -> data.underline = underline);
     }
 
     public void setPromptSubscript(boolean subscript) {
-        promptStyleData.subscript = subscript;
+        promptStyleData.update(data -> data.subscript = subscript);
     }
 
     public void setPromptSuperscript(boolean superscript) {
-        promptStyleData.superscript = superscript;
+        promptStyleData.update(data -> data.superscript = superscript);
     }
 
     public void setInputColor(String colorName) {
         getColor(colorName).ifPresent(col -> {
-            inputStyleData.color = col;
-            textPane.setCaretColor(inputStyleData.color);
+            inputStyleData.update(data -> data.color = col);
+            textPane.setCaretColor(col);
         });
     }
 
     public void setInputBackgroundColor(String colorName) {
-        getColor(colorName).ifPresent(col -> inputStyleData.bgColor = col);
+        getColor(colorName).ifPresent(col -> inputStyleData.update(data -> data.bgColor = col));
     }
 
     public void setInputFontFamily(String fontFamily) {
-        inputStyleData.fontFamily = fontFamily;
+        inputStyleData.update(data -> data.fontFamily = fontFamily);
     }
 
     public void setInputFontSize(int fontSize) {
-        inputStyleData.fontSize = fontSize;
+        inputStyleData.update(data -> data.fontSize = fontSize);
     }
 
     public void setInputBold(boolean bold) {
-        inputStyleData.bold = bold;
+        inputStyleData.update(data -> data.bold = bold);
     }
 
     public void setInputItalic(boolean italic) {
-        inputStyleData.italic = italic;
+        inputStyleData.update(data -> data.italic = italic);
     }
 
     public void setInputUnderline(boolean underline) {
-        inputStyleData.underline = underline;
+        inputStyleData.update(data -> data.underline = underline);
     }
 
     public void setInputSubscript(boolean subscript) {
-        inputStyleData.subscript = subscript;
+        inputStyleData.update(data -> data.subscript = subscript);
     }
 
     public void setInputSuperscript(boolean superscript) {
-        inputStyleData.superscript = superscript;
+        inputStyleData.update(data -> data.superscript = superscript);
     }
 
     public void setPaneBackgroundColor(String colorName) {
@@ -760,6 +1124,35 @@ public class SwingTextTerminal extends AbstractTextTerminal<SwingTextTerminal> {
         }
     }
 
+    /**
+     * Sets the maximum number of lines kept in the document. Older lines are removed.
+     * @param maxLines the maximum number of lines, or a value &lt;= 0 for no limit.
+     */
+    public void setPaneMaxLines(int maxLines) {
+        this.maxLines = maxLines;
+    }
+
+    /**
+     * Sets the maximum number of characters kept in the document. Older lines are removed.
+     * @param maxChars the maximum number of characters, or a value &lt;= 0 for no limit.
+     */
+    public void setPaneMaxChars(int maxChars) {
+        this.maxChars = maxChars;
+    }
+
+    /**
+     * Sets the file to which the text removed from the document is appended, in order to keep the full history.
+     * @param filePath the path of the history file, or null if the removed text should be discarded.
+     */
+    public void setPaneHistoryFile(String filePath) {
+        synchronized (editLock) {
+            if(!Objects.equals(filePath, historyFile)) {
+                closeHistoryWriter();
+                historyFile = filePath;
+            }
+        }
+    }
+
     protected void updateScrollPaneSize(boolean pack) {
         TerminalProperties<SwingTextTerminal> props = getProperties();
         int w = props.getInt(PROP_PANE_WIDTH, 640);
@@ -33,6 +33,7 @@ public class SwingTextTerminalProvider implements TextTerminalProvider {
     }
 
     private static boolean isHeadless() {
+        if (isObviouslyHeadless()) return true;
         if (GraphicsEnvironment.isHeadless()) return true;
         try {
             GraphicsDevice[] screenDevices = GraphicsEnvironment.getLocalGraphicsEnvironment().getScreenDevices();
@@ -42,6 +43,21 @@ public class SwingTextTerminalProvider implements TextTerminalProvider {
         }
     }
 
+    /**
+     * A quick check that does not initialize the AWT.
+     * @return true, if headless mode has been requested or if, on a Unix-like system, no display is configured.
+     */
+    private static boolean isObviouslyHeadless() {
+        if (Boolean.getBoolean("java.awt.headless")) return true;
+        String osName = System.getProperty("os.name", "").toLowerCase();
+        if (osName.startsWith("windows") || osName.startsWith("mac")) return false;
+        return isEmpty(System.getenv("DISPLAY")) && isEmpty(System.getenv("WAYLAND_DISPLAY"));
+    }
+
+    private static boolean isEmpty(String s) {
+        return s == null || s.trim().isEmpty();
+    }
+
     @Override
     public String toString() {
         return "Swing terminal";
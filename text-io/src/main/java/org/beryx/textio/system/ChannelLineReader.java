@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.beryx.textio.system;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * A line reader that reads bytes from a channel into a large buffer and decodes them with an explicit charset.
+ * <br>Unlike {@link java.util.Scanner#nextLine()}, it does not use regular expressions, which makes it suitable
+ * for reading thousands of lines piped into the standard input.
+ * Any number of lines typed ahead are kept in the buffer until they are requested.
+ * A read operation blocks at most once, therefore interactive input is returned as soon as a line is available.
+ * <br>Lines are terminated by {@code "\n"}, {@code "\r"} or {@code "\r\n"}. Malformed input is replaced with the default replacement character.
+ */
+public class ChannelLineReader {
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    public static final int MIN_BUFFER_SIZE = 16;
+
+    private final ReadableByteChannel channel;
+    private final CharsetDecoder decoder;
+    private final ByteBuffer byteBuffer;
+    private final CharBuffer charBuffer;
+    private final StringBuilder lineBuilder = new StringBuilder();
+    private boolean endOfInput;
+    private boolean flushed;
+    private boolean skipLF;
+
+    public ChannelLineReader(InputStream in, Charset charset) {
+        this(in, charset, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param in the input stream. If it is a {@link FileInputStream}, its channel is used directly.
+     * @param charset the charset used to decode the bytes.
+     * @param bufferSize the size in bytes of the input buffer. Must be at least {@value #MIN_BUFFER_SIZE}.
+     */
+    public ChannelLineReader(InputStream in, Charset charset, int bufferSize) {
+        if(bufferSize < MIN_BUFFER_SIZE) throw new IllegalArgumentException("bufferSize must be at least " + MIN_BUFFER_SIZE + ": " + bufferSize);
+        this.channel = (in instanceof FileInputStream) ? ((FileInputStream)in).getChannel() : Channels.newChannel(in);
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.byteBuffer = ByteBuffer.allocate(bufferSize);
+        this.charBuffer = CharBuffer.allocate((int)Math.ceil(bufferSize * (double)decoder.maxCharsPerByte()) + 2);
+        this.charBuffer.flip();
+    }
+
+    /**
+     * Reads a line of text.
+     * @return the line without the line terminator, or null if the end of the stream has been reached.
+     */
+    public synchronized String readLine() throws IOException {
+        lineBuilder.setLength(0);
+        boolean lineStarted = false;
+        while(true) {
+            char[] chars = charBuffer.array();
+            int pos = charBuffer.position();
+            int limit = charBuffer.limit();
+            if(skipLF && pos < limit) {
+                skipLF = false;
+                if(chars[pos] == '\n') pos++;
+            }
+            int start = pos;
+            while(pos < limit) {
+                char ch = chars[pos];
+                if(ch == '\n' || ch == '\r') {
+                    charBuffer.position(pos + 1);
+                    skipLF = (ch == '\r');
+                    if(!lineStarted) return new String(chars, start, pos - start);
+                    return lineBuilder.append(chars, start, pos - start).toString();
+                }
+                pos++;
+            }
+            if(pos > start) {
+                lineBuilder.append(chars, start, pos - start);
+                lineStarted = true;
+            }
+            charBuffer.position(pos);
+            if(!fill()) {
+                return lineStarted ? lineBuilder.toString() : null;
+            }
+        }
+    }
+
+    /**
+     * Refills the char buffer, which must have been entirely consumed.
+     * @return false, if no more characters are available.
+     */
+    private boolean fill() throws IOException {
+        charBuffer.clear();
+        while(!flushed) {
+            if(!endOfInput && channel.read(byteBuffer) < 0) {
+                endOfInput = true;
+            }
+            byteBuffer.flip();
+            decoder.decode(byteBuffer, charBuffer, endOfInput);
+            byteBuffer.compact();
+            if(endOfInput) {
+                decoder.flush(charBuffer);
+                flushed = true;
+            }
+            if(charBuffer.position() > 0) break;
+        }
+        charBuffer.flip();
+        return charBuffer.hasRemaining();
+    }
+}
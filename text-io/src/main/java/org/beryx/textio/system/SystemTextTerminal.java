@@ -19,22 +19,80 @@ import org.beryx.textio.AbstractTextTerminal;
 import org.beryx.textio.PropertiesPrefixes;
 import org.beryx.textio.TextTerminal;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.PrintStream;
-import java.util.Scanner;
-import java.util.function.Consumer;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.util.NoSuchElementException;
 
 /**
- * A {@link TextTerminal} implemented using {@link System#out}, {@link System#in} and {@link Scanner}.
- * It is not capable to mask input strings, therefore not recommended when reading sensitive data.
+ * A {@link TextTerminal} implemented using {@link System#out} and {@link System#in}.
+ * The input is read by a {@link ChannelLineReader}, which buffers any number of lines typed ahead or piped into the standard input.
+ * <br>The charset and the buffer size of the line reader can be configured via the system properties
+ * {@value #SYSPROP_INPUT_CHARSET} and {@value #SYSPROP_INPUT_BUFFER_SIZE}.
+ * Default values: the default charset of the JVM and {@link ChannelLineReader#DEFAULT_BUFFER_SIZE}.
+ * <br>This terminal is not capable to mask input strings, therefore not recommended when reading sensitive data.
  */
 @PropertiesPrefixes({"system"})
 public class SystemTextTerminal extends AbstractTextTerminal<SystemTextTerminal> {
-    private final Scanner scanner = new Scanner(System.in);
-    private final PrintStream out = System.out;
+    public static final String SYSPROP_INPUT_CHARSET = "textio.system.input.charset";
+    public static final String SYSPROP_INPUT_BUFFER_SIZE = "textio.system.input.buffer.size";
 
+    /** The line reader shared by all terminals reading from {@link System#in}, so that the lines typed ahead are not lost. */
+    private static ChannelLineReader stdinReader;
+    private static InputStream stdinReaderSource;
+
+    private final ChannelLineReader lineReader;
+    private final PrintStream out;
+
+    public SystemTextTerminal() {
+        this(getStdinReader(), System.out);
+    }
+
+    /**
+     * @param in the stream from which the input lines are read.
+     * @param out the stream to which the output is written.
+     * @param inputCharset the charset used to decode the input.
+     * @param inputBufferSize the size in bytes of the input buffer.
+     */
+    public SystemTextTerminal(InputStream in, PrintStream out, Charset inputCharset, int inputBufferSize) {
+        this(new ChannelLineReader(in, inputCharset, inputBufferSize), out);
+    }
+
+    private SystemTextTerminal(ChannelLineReader lineReader, PrintStream out) {
+        this.lineReader = lineReader;
+        this.out = out;
+    }
+
+    private static synchronized ChannelLineReader getStdinReader() {
+        if(stdinReader == null || stdinReaderSource != System.in) {
+            stdinReaderSource = System.in;
+            stdinReader = new ChannelLineReader(System.in, getInputCharset(),
+                    Integer.getInteger(SYSPROP_INPUT_BUFFER_SIZE, ChannelLineReader.DEFAULT_BUFFER_SIZE));
+        }
+        return stdinReader;
+    }
+
+    private static Charset getInputCharset() {
+        String charsetName = System.getProperty(SYSPROP_INPUT_CHARSET, "").trim();
+        return charsetName.isEmpty() ? Charset.defaultCharset() : Charset.forName(charsetName);
+    }
+
+    /**
+     * @throws NoSuchElementException if the end of the input has been reached.
+     * @throws UncheckedIOException if an I/O error occurs.
+     */
     @Override
     public String read(boolean masking) {
-        return scanner.nextLine();
+        String line;
+        try {
+            line = lineReader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read the input", e);
+        }
+        if(line == null) throw new NoSuchElementException("No line found");
+        return line;
     }
 
     @Override
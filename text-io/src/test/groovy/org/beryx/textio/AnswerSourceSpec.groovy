@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.beryx.textio
+
+class AnswerSourceSpec extends TextIoSpec {
+    def "should use the answers without accessing the terminal"() {
+        when:
+        textIO.withAnswerSource(AnswerSource.fromMap([name: "Ann", age: 40, colors: ["red", "blue"], city: ""]))
+        def name = textIO.newStringInputReader().withItemName("name").read("Name")
+        def age = textIO.newIntInputReader().withItemName("age").withMinVal(18).read("Age")
+        def colors = textIO.newStringInputReader().withItemName("colors")
+                .withNumberedPossibleValues("red", "green", "blue").readList("Colors")
+        def city = textIO.newStringInputReader().withItemName("city").withDefaultValue("Paris").read("City")
+
+        then:
+        name == "Ann"
+        age == 40
+        colors == ["red", "blue"]
+        city == "Paris"
+        terminal.output == ''
+        terminal.readCalls == 0
+    }
+
+    def "should prompt the user if the answer is missing or invalid"() {
+        when:
+        textIO.withAnswerSource(AnswerSource.fromMap([age: 5]))
+        terminal.inputs.addAll(["Bob", "30"])
+        def name = textIO.newStringInputReader().withItemName("name").read("Name")
+        def age = textIO.newIntInputReader().withItemName("age").withMinVal(18).read("Age")
+
+        then:
+        name == "Bob"
+        age == 30
+        terminal.output == '''
+            Name: Bob
+            Age: 30
+        '''.stripAll()
+    }
+
+    def "should fail instead of prompting the user if the answer source is strict"() {
+        when:
+        textIO.withAnswerSource(AnswerSource.fromMap([age: 5]).strict())
+        textIO.newIntInputReader().withItemName(itemName).withMinVal(18).read("Age")
+
+        then:
+        def e = thrown(AnswerException)
+        e.itemName == itemName
+        e.answer == answer
+        e.errorMessages == errors
+        terminal.readCalls == 0
+
+        where:
+        itemName | answer | errors
+        "height" | null   | null
+        "age"    | "5"    | ["Invalid value for 'age'.", "Expected an integer value greater than or equal to 18."]
+    }
+
+    def "should parse array answers and run the array checkers"() {
+        when:
+        textIO.withAnswerSource(AnswerSource.fromMap([coins: [5, 10, 20], unsorted: "20, 10"]).strict())
+        int[] coins = textIO.newIntInputReader().withItemName("coins").withMinVal(5)
+                .withIntArrayChecker(IntInputReader.sortedArrayChecker()).readIntArray("Coins")
+
+        then:
+        coins == [5, 10, 20] as int[]
+        terminal.readCalls == 0
+
+        when:
+        textIO.newIntInputReader().withItemName("unsorted")
+                .withIntArrayChecker(IntInputReader.sortedArrayChecker()).readIntArray("Coins")
+
+        then:
+        def e = thrown(AnswerException)
+        e.answer == "20, 10"
+        e.errorMessages == ["Invalid value in the comma-separated list of 'unsorted'.", "The values must be in ascending order."]
+        terminal.readCalls == 0
+    }
+}
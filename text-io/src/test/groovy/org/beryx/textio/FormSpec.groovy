@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.beryx.textio
+
+import org.beryx.textio.mock.MockTextTerminal
+
+class FormSpec extends TextIoSpec {
+    def "should read the fields sequentially if the terminal does not support forms"() {
+        when:
+        terminal.inputs.addAll(["Ann", "5", "40"])
+        def form = textIO.newForm()
+        def name = form.addField(textIO.newStringInputReader(), "Name")
+        def age = form.addField(textIO.newIntInputReader().withMinVal(18), "Age")
+        def values = form.read()
+
+        then:
+        terminal.output == '''
+            Name: Ann
+            Age: 5
+            Invalid value.
+            Expected an integer value greater than or equal to 18.
+            Age: 40
+        '''.stripAll()
+        values == ["Ann", 40]
+        name.value == "Ann"
+        age.value == 40
+    }
+
+    def "should validate all fields in one pass and display the form again with the error messages"() {
+        given:
+        def submissions = [["", "12", "9"], ["Bob", "", "2"]]
+        def displayedFields = []
+        def formTerminal = new MockTextTerminal() {
+            @Override
+            List<String> readForm(List<Form.FieldInput> fields) {
+                displayedFields << fields.collect { [it.value, it.errorMessages] }
+                submissions.remove(0)
+            }
+        }
+        def formTextIO = new TextIO(formTerminal)
+
+        when:
+        def form = formTextIO.newForm()
+        def name = form.addField(formTextIO.newStringInputReader(), "Name")
+        def age = form.addField(formTextIO.newIntInputReader().withMinVal(18).withDefaultValue(30), "Age")
+        def color = form.addField(formTextIO.newStringInputReader().withNumberedPossibleValues("red", "green", "blue"), "Color")
+        form.read()
+
+        then:
+        displayedFields.size() == 2
+        displayedFields[1] == [
+                ["", ["Invalid value.", "Expected a string with at least 1 character."]],
+                ["12", ["Invalid value.", "Expected an integer value greater than or equal to 18."]],
+                ["9", ["Invalid value. Enter a value between 1 and 3."]]
+        ]
+        name.value == "Bob"
+        age.value == 30
+        color.value == "green"
+        formTerminal.readCalls == 0
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.beryx.textio
+
+class PagerSpec extends TextIoSpec {
+    def "should display the lines page by page and go back on request"() {
+        when:
+        terminal.inputs.addAll(["", "b", "", "", "q"])
+        int supplierCalls = 0
+        def lastPage = terminal.newPager({ supplierCalls++; (1..7).collect { "line$it".toString() }.iterator() })
+                .withPageSize(3)
+                .show()
+
+        then:
+        terminal.output == '''
+            line1
+            line2
+            line3
+            -- Page 1 -- [Enter: next page, b: previous page, q: quit]
+            line4
+            line5
+            line6
+            -- Page 2 -- [Enter: next page, b: previous page, q: quit] b
+            line1
+            line2
+            line3
+            -- Page 1 -- [Enter: next page, b: previous page, q: quit]
+            line4
+            line5
+            line6
+            -- Page 2 -- [Enter: next page, b: previous page, q: quit]
+            line7
+            -- Page 3 (end) -- [Enter or q: quit, b: previous page] q
+        '''.stripAll()
+        lastPage == 3
+        supplierCalls == 2
+        terminal.readCalls == 5
+    }
+
+    def "should not prompt if all lines fit on a single page"() {
+        when:
+        terminal.page { ["first", "second"].iterator() }
+
+        then:
+        terminal.output == '''
+            first
+            second
+        '''.stripAll()
+        terminal.readCalls == 0
+    }
+}
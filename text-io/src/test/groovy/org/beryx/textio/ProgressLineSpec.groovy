@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.beryx.textio
+
+import java.util.function.LongSupplier
+
+class ProgressLineSpec extends TextIoSpec {
+    def "should drop the updates exceeding the maximum rate and display the most recent one on close"() {
+        given:
+        long now = 0
+        def progress = terminal.newProgressLine()
+                .withMaxUpdatesPerSecond(10)
+                .withNanoClock({ now } as LongSupplier)
+
+        when:
+        [0, 20, 50, 99, 100, 150, 250, 300].eachWithIndex { int ms, int i ->
+            now = ms * 1_000_000L
+            progress.update("step $i" as String)
+        }
+        progress.close()
+
+        then:
+        terminal.output == '''
+            step 0
+            step 4
+            step 6
+            step 7
+        '''.stripAll()
+    }
+
+    def "should display the final text"() {
+        when:
+        terminal.newProgressLine().withMaxUpdatesPerSecond(0).withCloseable { progress ->
+            progress.updatePercentage("Copying: ", 1, 4)
+            progress.close("Done.")
+        }
+        terminal.println("Next")
+
+        then:
+        terminal.output == '''
+            Copying:  25%
+            Done.
+            Next
+        '''.stripAll()
+    }
+}
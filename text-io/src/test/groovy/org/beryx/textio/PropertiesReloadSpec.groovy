@@ -0,0 +1,178 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.beryx.textio
+
+import org.beryx.textio.PropertiesSpec.TermA
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.nio.file.Files
+
+class PropertiesReloadSpec extends Specification {
+    File propsFile
+    String oldLocation
+
+    def setup() {
+        propsFile = File.createTempFile("textio-reload", ".properties")
+        oldLocation = System.getProperty(AbstractTextTerminal.SYSPROP_PROPERTIES_FILE_LOCATION)
+        System.setProperty(AbstractTextTerminal.SYSPROP_PROPERTIES_FILE_LOCATION, propsFile.absolutePath)
+    }
+
+    def cleanup() {
+        if(oldLocation == null) {
+            System.clearProperty(AbstractTextTerminal.SYSPROP_PROPERTIES_FILE_LOCATION)
+        } else {
+            System.setProperty(AbstractTextTerminal.SYSPROP_PROPERTIES_FILE_LOCATION, oldLocation)
+        }
+        propsFile.delete()
+    }
+
+    /** Writes the file and moves its modification time forward, so that the stamp changes even on coarse-grained file systems. */
+    private void writeProps(String text) {
+        long lastModified = propsFile.lastModified()
+        propsFile.text = text
+        propsFile.setLastModified(lastModified + 2000)
+    }
+
+    private def getCachedEntry() {
+        AbstractTextTerminal.parsedPropertiesCache[propsFile.absolutePath]
+    }
+
+    def "should reuse the parsed properties until the stamp of the file changes"() {
+        given:
+        writeProps('textio.key001 = X001')
+
+        when:
+        def term1 = new TermA()
+        term1.initProperties()
+        def entry1 = cachedEntry
+        def term2 = new TermA()
+        term2.initProperties()
+
+        then:
+        term2.properties.getString('key001') == 'X001'
+        cachedEntry.is(entry1)
+        cachedEntry.resolvedProps.size() == 1
+
+        when:
+        writeProps('textio.key001 = X001-modified')
+        def term3 = new TermA()
+        term3.initProperties()
+
+        then:
+        !cachedEntry.is(entry1)
+        cachedEntry.stamp == "${propsFile.lastModified()}:${propsFile.length()}"
+        term3.properties.getString('key001') == 'X001-modified'
+        term1.properties.getString('key001') == 'X001'
+    }
+
+    def "should notify listeners only for the keys changed by a reload"() {
+        given:
+        writeProps('''
+            textio.key001 = X001
+            textio.key002 = X002
+            textio.key003 = X003
+        '''.stripIndent())
+        def term = new TermA()
+        term.initProperties()
+        def changes = []
+        term.properties.addListener { t, key, oldVal, newVal -> changes << "$key: $oldVal -> $newVal".toString() }
+
+        when:
+        writeProps('''
+            textio.key001 = X001
+            textio.key002 = X002-modified
+            textio.key004 = X004
+        '''.stripIndent())
+        term.reloadProperties(propsFile)
+
+        then:
+        changes.sort() == ['key002: X002 -> X002-modified', 'key003: X003 -> null', 'key004: null -> X004']
+        term.properties.getString('key001') == 'X001'
+
+        when:
+        changes.clear()
+        term.reloadProperties(propsFile)
+
+        then:
+        changes.empty
+    }
+
+    def "should initialize a terminal from a template without reading the file again"() {
+        given:
+        writeProps('textio.key001 = X001')
+        def template = new TermA()
+        template.init()
+        def entry = cachedEntry
+
+        when:
+        propsFile.delete()
+        def term = new TermA()
+        term.initFrom(template)
+
+        then:
+        term.properties.getString('key001') == 'X001'
+        cachedEntry.is(entry)
+
+        when:
+        term.properties.put('key001', 'X001-term')
+
+        then:
+        template.properties.getString('key001') == 'X001'
+    }
+
+    def "should reload the terminals registered by the file watcher, including those initialized from them"() {
+        given:
+        writeProps('textio.key001 = X001')
+        def template = new TermA()
+        template.initProperties()
+        PropertiesFileWatcher.register(propsFile, template)
+        def term = new TermA()
+        term.initFrom(template)
+
+        when:
+        writeProps('textio.key001 = X001-modified')
+        PropertiesFileWatcher.instance.reloadModifiedFiles(propsFile.absoluteFile.toPath().parent)
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert template.properties.getString('key001') == 'X001-modified'
+            assert term.properties.getString('key001') == 'X001-modified'
+        }
+    }
+
+    def "should stop watching a directory after it has been deleted"() {
+        given:
+        def dir = Files.createTempDirectory("textio-watch").toFile()
+        def file = new File(dir, 'textio.properties')
+        file.text = 'textio.key001 = X001'
+        def term = new TermA()
+        PropertiesFileWatcher.register(file, term)
+        def watcher = PropertiesFileWatcher.instance
+
+        expect:
+        watcher.watchedDirs.containsKey(dir.toPath())
+
+        when:
+        file.delete()
+        dir.delete()
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert !watcher.watchedDirs.containsKey(dir.toPath())
+        }
+    }
+}
@@ -18,6 +18,10 @@ package org.beryx.textio
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
 import java.util.function.Consumer
 
 @Unroll
@@ -163,4 +167,193 @@ class PropertiesSpec extends Specification {
         "textio-1.properties" | TermE | 'X001-eee' | 'E002' | 'B003' | 'E004' | 'E005' | '???'  | '???'
         "textio-1.properties" | TermF | 'X001-eee' | 'F002' | 'B003' | 'F004' | 'E005' | 'F006' | '???'
     }
+
+    def "should notify key listeners only for their key and keep typed values in sync"() {
+        given:
+        def props = new TermA().getProperties()
+        def xValues = []
+        def allChanges = []
+        props.addIntListener('x', -1, { term, val -> xValues << val })
+        props.addListener({ term, key, oldVal, newVal -> allChanges << "$key:$oldVal->$newVal".toString() })
+
+        when:
+        props.put('x', 12)
+        props.put('y', 'abc')
+        props.put('x', 'bad')
+        props.remove('y')
+
+        then:
+        xValues == [12, -1]
+        allChanges == ['x:null->12', 'y:null->abc', 'x:12->bad', 'y:abc->null']
+        props.getInt('x', 7) == 7
+        props.getInt('y', 3) == 3
+        props.getAllKeys() == ['x'] as Set
+        props.getListeners().size() == 2
+
+        when:
+        props.put('x', '42')
+
+        then:
+        props.getInt('x', 7) == 42
+        props.getLong('x', 7L) == 42L
+        props.getDouble('x', 7.0d) == 42.0d
+    }
+
+    def "should notify key listeners and general listeners in the order of their registration"() {
+        given:
+        def props = new TermA().getProperties()
+        def calls = []
+        props.addListener({ term, key, oldVal, newVal -> calls << 'general-1' })
+        props.addStringListener('x', null, { term, val -> calls << 'key-x' })
+        props.addListener({ term, key, oldVal, newVal -> calls << 'general-2' })
+
+        when:
+        props.put('x', '1')
+
+        then:
+        calls == ['general-1', 'key-x', 'general-2']
+    }
+
+    def "should restore overlaid properties and notify only effective changes"() {
+        given:
+        def term = new TermA()
+        def props = term.getProperties()
+        props.put('prompt.color', 'green')
+        props.put('err.prompt.color', 'red')
+        props.put('err.input.color', 'green')
+        def changes = [:].withDefault { [] }
+        props.addListener({ t, key, oldVal, newVal -> changes[key] << "$oldVal->$newVal".toString() })
+
+        when:
+        term.executeWithPropertiesPrefix('err', { t ->
+            t.executeWithPropertiesConfigurator({ p -> p.put('prompt.color', 'red'); p.put('x', '1') }, { t2 -> })
+        })
+
+        then:
+        changes == [
+                'prompt.color': ['green->red', 'red->green'],
+                'input.color' : ['null->green', 'green->null'],
+                'x'           : ['null->1', '1->null']
+        ]
+        props.getString('prompt.color') == 'green'
+        props.getAllKeys() == ['prompt.color', 'err.prompt.color', 'err.input.color'] as Set
+    }
+
+    def "should let each thread restore only the unchanged keys set by its own overlays"() {
+        given:
+        def props = new TermA().getProperties()
+        props.put('x', '0')
+        def threadA = Executors.newSingleThreadExecutor()
+        def threadB = Executors.newSingleThreadExecutor()
+        def inThread = { ExecutorService thread, Closure action -> thread.submit(action as Callable).get() }
+
+        when:
+        def overlayA = inThread(threadA) { def ov = props.pushOverlay(); props.put('x', 'a'); props.put('y', 'a'); ov }
+        def overlayB = inThread(threadB) { def ov = props.pushOverlay(); props.put('z', 'b'); ov }
+        props.put('x', 'other')
+        inThread(threadA) { props.popOverlay(overlayA) }
+
+        then:
+        props.getString('x') == 'other'
+        props.getString('y') == null
+        props.getString('z') == 'b'
+
+        when:
+        inThread(threadB) { props.popOverlay(overlayB) }
+
+        then:
+        props.getString('x') == 'other'
+        props.getAllKeys() == ['x'] as Set
+
+        when:
+        def overlayC = inThread(threadA) { props.pushOverlay() }
+        props.popOverlay(overlayC)
+
+        then:
+        thrown(IllegalStateException)
+
+        cleanup:
+        threadA.shutdown()
+        threadB.shutdown()
+    }
+
+    def "should not hold a lock while notifying listeners that modify other properties"() {
+        given:
+        def propsA = new TermA().getProperties()
+        def propsB = new TermA().getProperties()
+        propsA.addListener { term, key, oldVal, newVal -> if(key == 'x') propsB.put('fromA', newVal) }
+        propsB.addListener { term, key, oldVal, newVal -> if(key == 'x') propsA.put('fromB', newVal) }
+        def threads = Executors.newFixedThreadPool(2)
+
+        when:
+        def futures = (1..200).collect { i ->
+            threads.submit({ (i % 2 == 0 ? propsA : propsB).put('x', "$i") } as Callable)
+        }
+        futures.each { it.get(10, TimeUnit.SECONDS) }
+
+        then:
+        propsA.getString('fromB') != null
+        propsB.getString('fromA') != null
+
+        cleanup:
+        threads.shutdownNow()
+    }
+
+    def "should notify a modification made by a listener after the current notification"() {
+        given:
+        def props = new TermA().getProperties()
+        def notifications = []
+        props.addListener { term, key, oldVal, newVal ->
+            notifications << "$key:$newVal"
+            if(key == 'x') props.put('y', newVal)
+            notifications << "$key:$newVal done"
+        }
+
+        when:
+        props.put('x', '1')
+
+        then:
+        notifications == ['x:1', 'x:1 done', 'y:1', 'y:1 done']
+        props.getString('y') == '1'
+    }
+
+    def "should notify concurrent modifications of the same key in the order of the writes"() {
+        given:
+        def props = new TermA().getProperties()
+        def lastSeen = null
+        def brokenChains = []
+        props.addListener { term, key, oldVal, newVal ->
+            if(oldVal != lastSeen) brokenChains << "$oldVal != $lastSeen".toString()
+            lastSeen = newVal
+        }
+        def threads = Executors.newFixedThreadPool(4)
+
+        when:
+        def futures = (1..4).collect { t ->
+            threads.submit({
+                (1..500).each { i -> props.put('x', "$t-$i".toString()) }
+            } as Callable)
+        }
+        futures.each { it.get(10, TimeUnit.SECONDS) }
+
+        then:
+        brokenChains == []
+        lastSeen == props.getString('x')
+
+        cleanup:
+        threads.shutdownNow()
+    }
+
+    def "should have notified the listeners when a single writer's put returns"() {
+        given:
+        def props = new TermA().getProperties()
+        def delivered = []
+        props.addListener { term, key, oldVal, newVal -> delivered << newVal }
+
+        when:
+        props.put('x', '1')
+
+        then:
+        delivered == ['1']
+    }
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.beryx.textio
+
+import org.beryx.textio.mock.StreamingMockTextTerminal
+import spock.lang.Specification
+
+import static org.beryx.textio.mock.StreamingMockTextTerminal.EventType.*
+
+class StreamingMockTextTerminalSpec extends Specification {
+    def "should record prompts, inputs and error messages as separate events"() {
+        given:
+        def terminal = new StreamingMockTextTerminal(["Ann", "5", "40"].iterator())
+        def textIO = new TextIO(terminal)
+
+        when:
+        textIO.newStringInputReader().read("Name")
+        def mark = terminal.eventCount
+        def age = textIO.newIntInputReader().withMinVal(18).read("Age")
+
+        then:
+        age == 40
+        terminal.getEventsSince(mark).collect { [it.type, it.text] } == [
+                [PROMPT, "Age:"],
+                [INPUT, "5"],
+                [ERROR, "Invalid value.\nExpected an integer value greater than or equal to 18."],
+                [PROMPT, "Age:"],
+                [INPUT, "40"]
+        ]
+        terminal.readCalls == 3
+    }
+
+    def "should keep only the most recent events while pulling the inputs on demand"() {
+        given:
+        long supplied = 0
+        def terminal = new StreamingMockTextTerminal({ String.valueOf(supplied++) }).withTranscriptCapacity(4)
+        def reader = new TextIO(terminal).newLongInputReader()
+
+        when:
+        def values = (1..10_000).collect { reader.read("Value") }
+
+        then:
+        values == (0L..9_999L)
+        supplied == 10_000
+        terminal.eventCount == 20_000
+        terminal.events*.text == ["Value:", "9998", "Value:", "9999"]
+
+        when:
+        terminal.getEventsSince(0)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.beryx.textio
+
+class TableWriterSpec extends TextIoSpec {
+    def "should compute the column widths from the sampled rows and truncate the subsequent rows"() {
+        when:
+        def count = terminal.newTableWriter()
+                .withHeaders("City", "Temp", "Note")
+                .withSampleSize(2)
+                .withMaxColumnWidth(12)
+                .withBatchSize(2)
+                .write([
+                    ["Berlin", 21.5, "sunny"],
+                    ["Rome", -3, null],
+                    ["Llanfairpwllgwyngyll", 12345678, "very long note", "extra"]
+                ].iterator())
+
+        then:
+        terminal.output == '''
+            City    Temp  Note
+            ------  ----  -----
+            Berlin  21.5  sunny
+            Rome      -3
+            Lla...  1...  ve...
+        '''.stripAll()
+        count == 3
+    }
+
+    def "should stream rows without header"() {
+        when:
+        def count = terminal.newTableWriter()
+                .withSampleSize(10)
+                .withColumnSeparator(" | ")
+                .write((1..1000).stream().map { [it % 100, "row" + (it % 10)] })
+
+        then:
+        def lines = terminal.output.readLines()
+        lines.size() == 1000
+        lines[0] == '1 | row1'
+        lines[98] == '99 | row9'
+        lines[999] == '0 | row0'
+        count == 1000
+    }
+}
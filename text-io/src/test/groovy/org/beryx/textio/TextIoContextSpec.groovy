@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.beryx.textio
+
+import org.beryx.textio.mock.MockTextTerminal
+import spock.lang.Specification
+
+class TextIoContextSpec extends Specification {
+    def "should recycle terminals and bind the session TextIO to the current thread"() {
+        given:
+        int created = 0
+        def context = new TextIoContext<MockTextTerminal>({ created++; new MockTextTerminal() })
+                .withRecycler({ MockTextTerminal term -> term.reset(); true })
+
+        when:
+        def results = (1..3).collect { n ->
+            context.apply { TextIO textIO ->
+                assert TextIoFactory.getTextIO().is(textIO)
+                def term = (MockTextTerminal)textIO.textTerminal
+                assert term.output.isEmpty()
+                term.inputs.add(n as String)
+                textIO.newIntInputReader().read("Number")
+            }
+        }
+
+        then:
+        results == [1, 2, 3]
+        created == 1
+        TextIoContext.getCurrentTextIO() == null
+    }
+
+    def "should dispose terminals exceeding the maximum number of idle terminals"() {
+        given:
+        def context = new TextIoContext<MockTextTerminal>({ new MockTextTerminal() })
+                .withRecycler({ MockTextTerminal term -> term.reset(); true })
+                .withMaxIdle(1)
+
+        when:
+        def textIO1 = context.acquire()
+        def textIO2 = context.acquire()
+        context.release(textIO1)
+        context.release(textIO2)
+
+        then:
+        context.acquire().is(textIO1)
+        !context.acquire().is(textIO2)
+    }
+
+    def "should not reuse terminals if no recycler is configured"() {
+        given:
+        def context = new TextIoContext<MockTextTerminal>({ new MockTextTerminal() })
+
+        when:
+        def textIO1 = context.acquire()
+        textIO1.textTerminal.properties.put('prompt.color', 'red')
+        context.release(textIO1)
+        def textIO2 = context.acquire()
+
+        then:
+        !textIO2.is(textIO1)
+        textIO2.textTerminal.properties.getString('prompt.color') != 'red'
+    }
+}
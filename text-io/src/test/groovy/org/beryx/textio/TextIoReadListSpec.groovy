@@ -47,6 +47,99 @@ class TextIoReadListSpec extends TextIoSpec {
         terminal.readCalls == 4
     }
 
+    def "should read an int array with range and array checkers"() {
+        when:
+        terminal.inputs.addAll(["", "10, aaa", "10, 3, 8", "20, 10, 5", "5, 10, 20"])
+        int[] coins = textIO.newIntInputReader()
+                .withValueListChecker(InputReader.nonEmptyListChecker())
+                .withIntArrayChecker(IntInputReader.sortedArrayChecker())
+                .withMinVal(5)
+                .withMaxVal(25)
+                .readIntArray("Accepted coins")
+
+        then:
+        terminal.output == '''
+            Accepted coins:
+            Invalid value in the comma-separated list.
+            Expected at least one element.
+            Accepted coins: 10, aaa
+            Invalid value in the comma-separated list: aaa.
+            Expected an integer value between 5 and 25.
+            Accepted coins: 10, 3, 8
+            Invalid value in the comma-separated list: 3.
+            Expected an integer value between 5 and 25.
+            Accepted coins: 20, 10, 5
+            Invalid value in the comma-separated list.
+            The values must be in ascending order.
+            Accepted coins: 5, 10, 20
+        '''.stripAll()
+        coins == [5, 10, 20] as int[]
+        terminal.readCalls == 5
+    }
+
+    def "should check the sum of a long array without rejecting intermediate overflows (#input)"() {
+        when:
+        terminal.inputs.addAll([input, "0"])
+        long[] values = textIO.newLongInputReader()
+                .withLongArrayChecker(LongInputReader.sumRangeArrayChecker(minSum, maxSum))
+                .readLongArray("Values")
+
+        then:
+        values == expected as long[]
+
+        where:
+        input                          | minSum              | maxSum              | expected
+        "9223372036854775807, 1, -5"   | Long.MAX_VALUE - 10 | Long.MAX_VALUE      | [Long.MAX_VALUE, 1, -5]
+        "9223372036854775807, 1"       | 0                   | Long.MAX_VALUE      | [0]
+        "-9223372036854775808, -1, 5"  | Long.MIN_VALUE      | Long.MIN_VALUE + 10 | [Long.MIN_VALUE, -1, 5]
+        "-9223372036854775808, -1"     | Long.MIN_VALUE      | 0                   | [0]
+    }
+
+    def "should not accept a comma grouping separator when reading a list"() {
+        when:
+        terminal.inputs.addAll(["1,234, 5"])
+        def values = textIO.newIntInputReader()
+                .withLocale(Locale.US)
+                .readList("Values")
+
+        then:
+        values == [1, 234, 5]
+    }
+
+    def "should not accept a comma grouping separator when reading an int array"() {
+        when:
+        terminal.inputs.addAll(["1,234, 5"])
+        int[] values = textIO.newIntInputReader()
+                .withLocale(Locale.US)
+                .readIntArray("Values")
+
+        then:
+        values == [1, 234, 5] as int[]
+    }
+
+    def "should still accept a comma grouping separator when reading a single value after a list"() {
+        when:
+        terminal.inputs.addAll(["1, 2", "1,234"])
+        def reader = textIO.newIntInputReader().withLocale(Locale.US)
+        def values = reader.readList("Values")
+        def value = reader.read("Value")
+
+        then:
+        values == [1, 2]
+        value == 1234
+    }
+
+    def "should reject a comma decimal separator when reading a list"() {
+        when:
+        terminal.inputs.addAll(["1,5"])
+        textIO.newDoubleInputReader()
+                .withLocale(Locale.GERMANY)
+                .readList("Values")
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
     def "should read a list of integers with non-numbered possible values"() {
         when:
         terminal.inputs.addAll(["", "10, aaa", "10, 3, 8", "5, 10, 5, 20", "5, 10, 20"])
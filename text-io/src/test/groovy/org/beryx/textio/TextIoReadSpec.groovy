@@ -16,10 +16,12 @@
 package org.beryx.textio
 
 import org.beryx.textio.InputReader.ParseResult
+import org.beryx.textio.mock.MockTextTerminal
 import spock.lang.Unroll
 
 import java.awt.*
 import java.time.DayOfWeek
+import java.util.function.Supplier
 
 @Unroll
 class TextIoReadSpec extends TextIoSpec {
@@ -97,6 +99,23 @@ class TextIoReadSpec extends TextIoSpec {
         14     | null   | 10
     }
 
+    def "should read #expected from #input using the separators of #locale"() {
+        when:
+        terminal.inputs.addAll([input, "0"])
+        def val = textIO.newDoubleInputReader().withLocale(locale).read("Amount")
+
+        then:
+        val == expected
+
+        where:
+        input          | locale         | expected
+        "1,234,567.5"  | Locale.US      | 1234567.5d
+        "1.234.567,5"  | Locale.GERMANY | 1234567.5d
+        "1234,5"       | Locale.GERMANY | 1234.5d
+        "12,34.5"      | Locale.US      | 0d
+        "1.5"          | Locale.GERMANY | 0d
+    }
+
     def "should read a boolean without default value"() {
         when:
         terminal.inputs.addAll(["maybe", "yep", "", "false", "disabled"])
@@ -715,4 +734,98 @@ class TextIoReadSpec extends TextIoSpec {
         terminal.readCalls == 3
         point == new Point(31, 97)
     }
+
+    def "should build the lazy error messages only for invalid input"() {
+        when:
+        int supplierCalls = 0
+        terminal.inputs.addAll(["2", "31:97"])
+        def point = textIO.<Point>newGenericInputReader{ String s ->
+            def result = parsePoint(s)
+            (result.value != null) ? result : new ParseResult<Point>(null, { supplierCalls++; ["Invalid point: $s." as String] } as Supplier<List<String>>)
+        }
+                .withValueFormatter{Point p -> ((int)p.x + ":" + (int)p.y) as String}
+                .read("Choose your point")
+
+        then:
+        terminal.output == '''
+            Choose your point: 2
+            Invalid point: 2.
+            Choose your point: 31:97
+        '''.stripAll()
+        supplierCalls == 1
+        point == new Point(31, 97)
+    }
+
+    def "should run cheap checks first and skip the memoized expensive check in fail-fast mode"() {
+        when:
+        int lookups = 0
+        terminal.inputs.addAll(["ab", "abcde1", "taken", "taken", "goodname"])
+        def name = textIO.newStringInputReader()
+                .withMemoizedValueChecker({ String val, String itemName ->
+                    lookups++
+                    (val == "taken") ? ["Name already taken."] : null
+                } as InputReader.ValueChecker<String>, InputReader.ValueChecker.COST_HIGH)
+                .withPattern("[a-z]+")
+                .withMinLength(5)
+                .withFailFastChecks(true)
+                .read("Name")
+
+        then:
+        terminal.output == '''
+            Name: ab
+            Invalid value.
+            Expected a string with at least 5 characters.
+            Name: abcde1
+            Invalid value.
+            Expected format: [a-z]+
+            Name: taken
+            Invalid value.
+            Name already taken.
+            Name: taken
+            Invalid value.
+            Name already taken.
+            Name: goodname
+        '''.stripAll()
+        lookups == 2
+        name == "goodname"
+    }
+
+    def "should export the constraints of a reader as input rules"() {
+        when:
+        def intRules = textIO.newIntInputReader().withMinVal(1).withMaxVal(5).createInputRules()
+        def stringRules = textIO.newStringInputReader().withMaxLength(4).withPattern("[a-z]+").createInputRules()
+        def unportableRules = textIO.newStringInputReader().withPattern("\\p{Alpha}+").createInputRules()
+
+        then:
+        intRules.numberType == InputRules.NUMBER_TYPE_INTEGER
+        intRules.min == 1
+        intRules.max == 5
+        intRules.messages[InputRules.RULE_RANGE] == ["Invalid value.", "Expected an integer value between 1 and 5."]
+        stringRules.minLength == 1
+        stringRules.maxLength == 4
+        stringRules.pattern == "[a-z]+"
+        stringRules.messages[InputRules.RULE_PATTERN] == ["Invalid value.", "Expected format: [a-z]+"]
+        unportableRules.pattern == null
+    }
+
+    def "should create input rules only for terminals supporting them (supported: #supported)"() {
+        given:
+        boolean sup = supported
+        def receivedRules = []
+        def rulesTerminal = new MockTextTerminal() {
+            @Override boolean isInputRulesSupported() { sup }
+            @Override String read(boolean masking, InputRules rules) { receivedRules << rules; read(masking) }
+        }
+        rulesTerminal.inputs << "3"
+
+        when:
+        new TextIO(rulesTerminal).newIntInputReader().withMinVal(1).read("Value")
+
+        then:
+        receivedRules.size() == 1
+        (receivedRules[0] != null) == supported
+
+        where:
+        supported << [true, false]
+    }
 }
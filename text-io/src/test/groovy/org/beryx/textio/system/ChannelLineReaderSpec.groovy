@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.beryx.textio.system
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.charset.StandardCharsets
+
+class ChannelLineReaderSpec extends Specification {
+    @Unroll
+    def "should split the text into lines using a buffer of #bufferSize bytes"() {
+        given:
+        def reader = new ChannelLineReader(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8, bufferSize)
+
+        when:
+        def lines = []
+        def line
+        while((line = reader.readLine()) != null) lines << line
+
+        then:
+        lines == expectedLines
+
+        where:
+        text                                                  | bufferSize | expectedLines
+        ''                                                    | 16         | []
+        '\n'                                                  | 16         | ['']
+        'a\nbb\r\nccc\rdd\n\nlast'                            | 16         | ['a', 'bb', 'ccc', 'dd', '', 'last']
+        '\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u20ac\u20ac\r\n\r\n'       | 17         | ['\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u20ac\u20ac', '']
+        (1..1000).join('\n')                                  | 16         | (1..1000)*.toString()
+    }
+
+    def "should return the buffered lines one by one and fail at the end of the input"() {
+        given:
+        def input = new ByteArrayInputStream('Ann\n40\n'.getBytes(StandardCharsets.UTF_8))
+        def terminal = new SystemTextTerminal(input, new PrintStream(new ByteArrayOutputStream()), StandardCharsets.UTF_8, 1024)
+
+        when:
+        def name = terminal.read(false)
+        def age = terminal.read(false)
+        terminal.read(false)
+
+        then:
+        name == 'Ann'
+        age == '40'
+        thrown(NoSuchElementException)
+    }
+}